@@ -0,0 +1,310 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reescreve todas as colunas de CPF com os 11 dígitos canônicos e adiciona CHECKs que impedem
+ * novos valores formatados. Os dados são atualizados em lotes com commit próprio, e cada lote
+ * troca a chave (idosos.cpf, cuidadores.cpf) junto com todas as linhas que a referenciam: com
+ * as FKs desligadas só dentro da sessão, nenhum commit deixa referência para CPF inexistente.
+ *
+ * Se a migração parar no meio, o Flyway a registra como falha e não migra mais até que o
+ * registro seja removido: rode {@code flyway repair} (ou apague a linha da versão 24 com
+ * success = 0 em flyway_schema_history) e reinicie. A migração é idempotente: só seleciona
+ * valores ainda não canônicos e só cria os CHECKs que faltam, então retoma do ponto em que parou.
+ *
+ * Antes de qualquer escrita, verifica se há valores sem 11 dígitos ou CPFs que colidiriam
+ * com um registro já canônico (ex.: "123.456.789-09" e "12345678909" em idosos). Nesses casos
+ * a migração falha listando os valores, para correção manual, em vez de descartar dados.
+ */
+public class V24__Canonicalize_cpfs extends BaseJavaMigration {
+
+    private static final int LOTE = 500;
+    private static final String CANONICO = "'^[0-9]{11}$'";
+
+    private static final Coluna IDOSO = new Coluna("idosos", "cpf", "cpf");
+    private static final Coluna CUIDADOR = new Coluna("cuidadores", "cpf", "cpf");
+    private static final Coluna USUARIO = new Coluna("usuarios", "cpf", "id", true);
+
+    // imagens.cpf guarda o CPF do dono da imagem, que pode ser um idoso ou um cuidador, por isso entra
+    // nas duas famílias. Não é reescrita duas vezes: cada lote só casa as linhas com os valores antigos
+    // da sua própria chave, e um CPF de cuidador não aparece no mapa de um lote de idosos
+    private static final Coluna IMAGENS = new Coluna("imagens", "cpf", "id");
+
+    // Colunas que guardam o CPF de um idoso
+    private static final List<Coluna> REFERENCIAS_IDOSO = List.of(
+            new Coluna("enderecos", "idoso_id", "id", true),
+            new Coluna("consultas", "cpf", "id"),
+            new Coluna("medicamentos", "cpf", "id"),
+            new Coluna("dietas", "cpf", "id"),
+            new Coluna("exercicios", "cpf", "id"),
+            new Coluna("exames_medicos", "cpf", "id"),
+            IMAGENS,
+            new Coluna("eventos", "idoso_id", "id"),
+            new Coluna("mensagens", "idoso_id", "id"),
+            new Coluna("caregiver_link_requests", "idoso_cpf", "id"),
+            new Coluna("contatos_emergencia", "idoso_cpf", "id"),
+            new Coluna("dose_occurrences", "idoso_cpf", "id"));
+
+    private static final List<Coluna> REFERENCIAS_CUIDADOR = List.of(
+            new Coluna("idosos", "cuidador_cpf", "cpf", true),
+            new Coluna("enderecos", "cuidador_id", "id", true),
+            new Coluna("caregiver_link_requests", "cuidador_cpf", "id"),
+            IMAGENS);
+
+    // Cada chave com as colunas que a acompanham no mesmo commit (usuarios não é referenciado por CPF)
+    private static final Map<Coluna, List<Coluna>> CHAVES = Map.of(
+            IDOSO, REFERENCIAS_IDOSO,
+            CUIDADOR, REFERENCIAS_CUIDADOR,
+            USUARIO, List.of());
+
+    private static final List<Coluna> REFERENCIAS = List.of(
+            new Coluna("idosos", "cuidador_cpf", "cpf", true),
+            new Coluna("enderecos", "idoso_id", "id", true),
+            new Coluna("enderecos", "cuidador_id", "id", true),
+            new Coluna("consultas", "cpf", "id"),
+            new Coluna("medicamentos", "cpf", "id"),
+            new Coluna("dietas", "cpf", "id"),
+            new Coluna("exercicios", "cpf", "id"),
+            new Coluna("exames_medicos", "cpf", "id"),
+            IMAGENS,
+            new Coluna("eventos", "idoso_id", "id"),
+            new Coluna("mensagens", "idoso_id", "id"),
+            new Coluna("caregiver_link_requests", "idoso_cpf", "id"),
+            new Coluna("caregiver_link_requests", "cuidador_cpf", "id"),
+            new Coluna("contatos_emergencia", "idoso_cpf", "id"),
+            new Coluna("dose_occurrences", "idoso_cpf", "id"));
+
+    // contatos_emergencia.idoso_cpf fica sem CHECK: o MySQL não aceita CHECK em coluna de FK com ON DELETE CASCADE
+    private static final List<String> SEM_CHECK = List.of("contatos_emergencia.idoso_cpf");
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        boolean autoCommit = conexao.getAutoCommit();
+        conexao.setAutoCommit(false);
+        try (Statement st = conexao.createStatement()) {
+            verificar(conexao);
+            // A chave e as referências mudam no mesmo lote; as FKs ficam desligadas só porque o InnoDB
+            // as verifica a cada UPDATE e não no commit
+            st.execute("SET FOREIGN_KEY_CHECKS = 0");
+            st.execute("CREATE TEMPORARY TABLE IF NOT EXISTS cpf_canonico ("
+                    + "antigo VARCHAR(14) NOT NULL PRIMARY KEY, novo CHAR(11) NULL)");
+            try {
+                for (Coluna chave : List.of(IDOSO, CUIDADOR, USUARIO)) {
+                    canonicalizarChave(conexao, chave, CHAVES.get(chave));
+                }
+                // Sobram apenas valores sem chave correspondente (colunas sem FK ou texto em branco)
+                for (Coluna coluna : REFERENCIAS) {
+                    canonicalizar(conexao, coluna);
+                }
+            } finally {
+                st.execute("DROP TEMPORARY TABLE IF EXISTS cpf_canonico");
+                st.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+            conexao.commit();
+            adicionarChecks(conexao);
+        } finally {
+            conexao.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void verificar(Connection conexao) throws SQLException {
+        List<String> problemas = new ArrayList<>();
+        List<Coluna> todas = todas();
+        for (Coluna coluna : todas) {
+            String sql = "SELECT DISTINCT " + coluna.nome + " FROM " + coluna.tabela
+                    + " WHERE " + coluna.nome + " IS NOT NULL AND " + coluna.nome + " NOT REGEXP " + CANONICO;
+            try (Statement st = conexao.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) {
+                    String valor = rs.getString(1);
+                    if (canonico(valor) == null && !(coluna.nulavel && valor.isBlank())) {
+                        problemas.add(coluna + " = '" + valor + "' não tem 11 dígitos");
+                    }
+                }
+            }
+        }
+        for (Coluna chave : CHAVES.keySet()) {
+            String sql = "SELECT " + chave.nome + " FROM " + chave.tabela
+                    + " WHERE " + chave.nome + " IS NOT NULL AND " + chave.nome + " NOT REGEXP " + CANONICO;
+            Map<String, String> vistos = new LinkedHashMap<>();
+            try (Statement st = conexao.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) {
+                    String valor = rs.getString(1);
+                    String alvo = canonico(valor);
+                    if (alvo == null) {
+                        continue;
+                    }
+                    String anterior = vistos.putIfAbsent(alvo, valor);
+                    if (anterior != null || existe(conexao, chave, alvo)) {
+                        problemas.add(chave + " = '" + valor + "' colide com '" + alvo + "'"
+                                + (anterior != null ? " (e com '" + anterior + "')" : ""));
+                    }
+                }
+            }
+        }
+        if (!problemas.isEmpty()) {
+            throw new FlywayException("CPFs que não podem ser canonicalizados automaticamente; corrija e execute de novo:\n  "
+                    + String.join("\n  ", problemas));
+        }
+    }
+
+    private boolean existe(Connection conexao, Coluna chave, String cpf) throws SQLException {
+        try (PreparedStatement ps = conexao.prepareStatement(
+                "SELECT 1 FROM " + chave.tabela + " WHERE " + chave.nome + " = ?")) {
+            ps.setString(1, cpf);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    // Um lote de valores da chave: o mapa antigo -> novo vai para a tabela temporária e cada coluna
+    // (a própria chave e as que a referenciam) é atualizada por JOIN, tudo no mesmo commit
+    private void canonicalizarChave(Connection conexao, Coluna chave, List<Coluna> referencias) throws SQLException {
+        String selecao = "SELECT DISTINCT " + chave.nome + " FROM " + chave.tabela
+                + " WHERE " + chave.nome + " IS NOT NULL AND " + chave.nome + " NOT REGEXP " + CANONICO
+                + " LIMIT " + LOTE;
+        List<Coluna> colunas = new ArrayList<>();
+        colunas.add(chave);
+        colunas.addAll(referencias);
+        while (true) {
+            List<String> antigos = new ArrayList<>();
+            try (Statement st = conexao.createStatement(); ResultSet rs = st.executeQuery(selecao)) {
+                while (rs.next()) {
+                    antigos.add(rs.getString(1));
+                }
+            }
+            if (antigos.isEmpty()) {
+                return;
+            }
+            try (Statement st = conexao.createStatement()) {
+                st.execute("DELETE FROM cpf_canonico");
+            }
+            try (PreparedStatement ps = conexao.prepareStatement("INSERT INTO cpf_canonico (antigo, novo) VALUES (?, ?)")) {
+                for (String antigo : antigos) {
+                    ps.setString(1, antigo);
+                    ps.setString(2, canonico(antigo));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            try (Statement st = conexao.createStatement()) {
+                for (Coluna coluna : colunas) {
+                    st.executeUpdate("UPDATE " + coluna.tabela + " t JOIN cpf_canonico m ON t." + coluna.nome
+                            + " = m.antigo SET t." + coluna.nome + " = m.novo"
+                            // dose_occurrences guarda o hash do CPF usado na divisão em shards: precisa acompanhar
+                            + ("dose_occurrences".equals(coluna.tabela) ? ", t.cpf_hash = CRC32(m.novo) & 2147483647" : ""));
+                }
+            }
+            conexao.commit();
+        }
+    }
+
+    private void canonicalizar(Connection conexao, Coluna coluna) throws SQLException {
+        String selecao = "SELECT " + coluna.pk + ", " + coluna.nome + " FROM " + coluna.tabela
+                + " WHERE " + coluna.nome + " IS NOT NULL AND " + coluna.nome + " NOT REGEXP " + CANONICO
+                + " LIMIT " + LOTE;
+        // dose_occurrences guarda o hash do CPF usado na divisão em shards: precisa acompanhar
+        String atualizacao = "dose_occurrences".equals(coluna.tabela)
+                ? "UPDATE dose_occurrences SET idoso_cpf = ?, cpf_hash = CRC32(idoso_cpf) & 2147483647 WHERE id = ? AND idoso_cpf = ?"
+                : "UPDATE " + coluna.tabela + " SET " + coluna.nome + " = ? WHERE " + coluna.pk + " = ? AND " + coluna.nome + " = ?";
+        while (true) {
+            Map<Object, String[]> lote = new LinkedHashMap<>();
+            try (Statement st = conexao.createStatement(); ResultSet rs = st.executeQuery(selecao)) {
+                while (rs.next()) {
+                    String valor = rs.getString(2);
+                    // canonico() devolve null para texto em branco; verificar() só deixa chegar aqui
+                    // texto em branco de colunas opcionais, que assim viram NULL
+                    lote.put(rs.getObject(1), new String[]{valor, canonico(valor)});
+                }
+            }
+            if (lote.isEmpty()) {
+                return;
+            }
+            try (PreparedStatement ps = conexao.prepareStatement(atualizacao)) {
+                for (Map.Entry<Object, String[]> linha : lote.entrySet()) {
+                    ps.setString(1, linha.getValue()[1]);
+                    ps.setObject(2, linha.getKey());
+                    ps.setString(3, linha.getValue()[0]);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            conexao.commit();
+        }
+    }
+
+    private void adicionarChecks(Connection conexao) throws SQLException {
+        try (Statement st = conexao.createStatement()) {
+            for (Coluna coluna : todas()) {
+                String nome = "chk_" + coluna.tabela + "_" + coluna.nome + "_canonico";
+                if (SEM_CHECK.contains(coluna.toString()) || existeConstraint(conexao, coluna.tabela, nome)) {
+                    continue;
+                }
+                st.execute("ALTER TABLE " + coluna.tabela + " ADD CONSTRAINT " + nome
+                        + " CHECK (" + coluna.nome + " REGEXP " + CANONICO + ")");
+            }
+        }
+    }
+
+    private boolean existeConstraint(Connection conexao, String tabela, String nome) throws SQLException {
+        try (PreparedStatement ps = conexao.prepareStatement("SELECT 1 FROM information_schema.TABLE_CONSTRAINTS "
+                + "WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_NAME = ?")) {
+            ps.setString(1, tabela);
+            ps.setString(2, nome);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static List<Coluna> todas() {
+        List<Coluna> todas = new ArrayList<>(List.of(IDOSO, CUIDADOR, USUARIO));
+        todas.addAll(REFERENCIAS);
+        return todas;
+    }
+
+    // Mesma regra de org.example.seniorplus.domain.Cpf, copiada para a migração não depender do código da aplicação
+    private static String canonico(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(11);
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.length() == 11 ? digitos.toString() : null;
+    }
+
+    private record Coluna(String tabela, String nome, String pk, boolean nulavel) {
+        Coluna(String tabela, String nome, String pk) {
+            this(tabela, nome, pk, false);
+        }
+
+        @Override
+        public String toString() {
+            return tabela + "." + nome;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.seniorplus;
 
 import org.example.seniorplus.service.WhatsAppNotificationService;
+import org.example.seniorplus.service.notification.SchedulerLeaseManager;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
@@ -9,13 +10,19 @@ import org.springframework.stereotype.Component;
 public class ApplicationStartup {
 
     private final WhatsAppNotificationService notificationService;
+    private final SchedulerLeaseManager leaseManager;
 
-    public ApplicationStartup(WhatsAppNotificationService notificationService) {
+    public ApplicationStartup(WhatsAppNotificationService notificationService,
+                              SchedulerLeaseManager leaseManager) {
         this.notificationService = notificationService;
+        this.leaseManager = leaseManager;
     }
 
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
+        // Reivindica os shards antes da primeira verificação para não esperar a próxima renovação
+        leaseManager.renovar();
+        notificationService.carregarAgenda();
         notificationService.verificarEEnviarMensagens();
     }
 }
@@ -0,0 +1,92 @@
+package org.example.seniorplus.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "auth.protection")
+public class AuthProtectionProperties {
+    private int hashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int hashingQueueCapacity = 50;
+    private Duration hashingWaitTimeout = Duration.ofSeconds(2);
+    private int ipBurst = 60;
+    private Duration ipRefill = Duration.ofSeconds(1);
+    private int accountBurst = 5;
+    private Duration accountRefill = Duration.ofSeconds(30);
+    private int refreshBurst = 10;
+    private Duration refreshRefill = Duration.ofMinutes(1);
+
+    public int getHashingThreads() {
+        return hashingThreads;
+    }
+
+    public void setHashingThreads(int hashingThreads) {
+        this.hashingThreads = hashingThreads;
+    }
+
+    public int getHashingQueueCapacity() {
+        return hashingQueueCapacity;
+    }
+
+    public void setHashingQueueCapacity(int hashingQueueCapacity) {
+        this.hashingQueueCapacity = hashingQueueCapacity;
+    }
+
+    public Duration getHashingWaitTimeout() {
+        return hashingWaitTimeout;
+    }
+
+    public void setHashingWaitTimeout(Duration hashingWaitTimeout) {
+        this.hashingWaitTimeout = hashingWaitTimeout;
+    }
+
+    public int getIpBurst() {
+        return ipBurst;
+    }
+
+    public void setIpBurst(int ipBurst) {
+        this.ipBurst = ipBurst;
+    }
+
+    public Duration getIpRefill() {
+        return ipRefill;
+    }
+
+    public void setIpRefill(Duration ipRefill) {
+        this.ipRefill = ipRefill;
+    }
+
+    public int getAccountBurst() {
+        return accountBurst;
+    }
+
+    public void setAccountBurst(int accountBurst) {
+        this.accountBurst = accountBurst;
+    }
+
+    public Duration getAccountRefill() {
+        return accountRefill;
+    }
+
+    public void setAccountRefill(Duration accountRefill) {
+        this.accountRefill = accountRefill;
+    }
+
+    public int getRefreshBurst() {
+        return refreshBurst;
+    }
+
+    public void setRefreshBurst(int refreshBurst) {
+        this.refreshBurst = refreshBurst;
+    }
+
+    public Duration getRefreshRefill() {
+        return refreshRefill;
+    }
+
+    public void setRefreshRefill(Duration refreshRefill) {
+        this.refreshRefill = refreshRefill;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.seniorplus.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.blobs")
+public class BlobStorageProperties {
+    private String root = "data/blobs";
+    private DataSize maxSize = DataSize.ofMegabytes(10);
+    private Duration migrationInterval = Duration.ofMinutes(1);
+    private int migrationBatchSize = 20;
+
+    public String getRoot() {
+        return root;
+    }
+
+    public void setRoot(String root) {
+        this.root = root;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public void setMigrationInterval(Duration migrationInterval) {
+        this.migrationInterval = migrationInterval;
+    }
+
+    public int getMigrationBatchSize() {
+        return migrationBatchSize;
+    }
+
+    public void setMigrationBatchSize(int migrationBatchSize) {
+        this.migrationBatchSize = migrationBatchSize;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.seniorplus.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "notification.occurrences")
+public class DoseOccurrenceProperties {
+    private Duration window = Duration.ofHours(48);
+    private Duration refreshInterval = Duration.ofMinutes(15);
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
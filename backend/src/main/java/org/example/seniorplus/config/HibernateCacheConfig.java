@@ -0,0 +1,23 @@
+package org.example.seniorplus.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Expõe as estatísticas do Hibernate em /actuator/metrics, incluindo acertos e falhas do cache
+ * de segundo nível por região (hibernate.second.level.cache.requests).
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        return new HibernateMetrics(sessionFactory, "entityManagerFactory", Tags.empty());
+    }
+}
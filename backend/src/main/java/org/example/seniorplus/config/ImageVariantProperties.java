@@ -0,0 +1,65 @@
+package org.example.seniorplus.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "storage.images")
+public class ImageVariantProperties {
+    private int threads = 2;
+    private int queueCapacity = 100;
+    private long maxPixels = 40_000_000L;
+    private float jpegQuality = 0.85f;
+    private Duration backfillInterval = Duration.ofMinutes(5);
+    private int backfillBatchSize = 20;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getMaxPixels() {
+        return maxPixels;
+    }
+
+    public void setMaxPixels(long maxPixels) {
+        this.maxPixels = maxPixels;
+    }
+
+    public float getJpegQuality() {
+        return jpegQuality;
+    }
+
+    public void setJpegQuality(float jpegQuality) {
+        this.jpegQuality = jpegQuality;
+    }
+
+    public Duration getBackfillInterval() {
+        return backfillInterval;
+    }
+
+    public void setBackfillInterval(Duration backfillInterval) {
+        this.backfillInterval = backfillInterval;
+    }
+
+    public int getBackfillBatchSize() {
+        return backfillBatchSize;
+    }
+
+    public void setBackfillBatchSize(int backfillBatchSize) {
+        this.backfillBatchSize = backfillBatchSize;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.seniorplus.config;
+
+import org.example.seniorplus.domain.DeliveryChannel;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "notification.channels")
+public class NotificationChannelProperties {
+    private List<DeliveryChannel> failoverOrder = new ArrayList<>(List.of(
+            DeliveryChannel.WHATSAPP, DeliveryChannel.SMS, DeliveryChannel.EMAIL, DeliveryChannel.IN_APP));
+    private Map<DeliveryChannel, Lane> lanes = new EnumMap<>(DeliveryChannel.class);
+
+    public List<DeliveryChannel> getFailoverOrder() {
+        return failoverOrder;
+    }
+
+    public void setFailoverOrder(List<DeliveryChannel> failoverOrder) {
+        this.failoverOrder = failoverOrder;
+    }
+
+    public Map<DeliveryChannel, Lane> getLanes() {
+        return lanes;
+    }
+
+    public void setLanes(Map<DeliveryChannel, Lane> lanes) {
+        this.lanes = lanes;
+    }
+
+    public Lane lane(DeliveryChannel canal) {
+        Lane lane = lanes.get(canal);
+        return lane != null ? lane : new Lane();
+    }
+
+    public static class Lane {
+        private boolean enabled = true;
+        // 0 usa notification.dispatcher.workers
+        private int concurrency = 0;
+        // Agrupa lembretes simultâneos do mesmo destinatário numa única mensagem
+        private boolean coalesce = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public boolean isCoalesce() {
+            return coalesce;
+        }
+
+        public void setCoalesce(boolean coalesce) {
+            this.coalesce = coalesce;
+        }
+    }
+}
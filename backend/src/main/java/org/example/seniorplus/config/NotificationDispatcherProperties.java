@@ -0,0 +1,128 @@
+package org.example.seniorplus.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "notification.dispatcher")
+public class NotificationDispatcherProperties {
+    private int queueCapacity = 1000;
+    private int workers = 4;
+    private boolean virtualThreads = false;
+    private int maxAttempts = 5;
+    private Duration initialBackoff = Duration.ofSeconds(2);
+    private Duration maxBackoff = Duration.ofMinutes(2);
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration claimTimeout = Duration.ofMinutes(10);
+    private Duration digestWindow = Duration.ofSeconds(3);
+    private int digestMaxSize = 10;
+    private int recipientBurst = 3;
+    private Duration recipientRefill = Duration.ofSeconds(20);
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public Duration getClaimTimeout() {
+        return claimTimeout;
+    }
+
+    public void setClaimTimeout(Duration claimTimeout) {
+        this.claimTimeout = claimTimeout;
+    }
+
+    public Duration getDigestWindow() {
+        return digestWindow;
+    }
+
+    public void setDigestWindow(Duration digestWindow) {
+        this.digestWindow = digestWindow;
+    }
+
+    public int getDigestMaxSize() {
+        return digestMaxSize;
+    }
+
+    public void setDigestMaxSize(int digestMaxSize) {
+        this.digestMaxSize = digestMaxSize;
+    }
+
+    public int getRecipientBurst() {
+        return recipientBurst;
+    }
+
+    public void setRecipientBurst(int recipientBurst) {
+        this.recipientBurst = recipientBurst;
+    }
+
+    public Duration getRecipientRefill() {
+        return recipientRefill;
+    }
+
+    public void setRecipientRefill(Duration recipientRefill) {
+        this.recipientRefill = recipientRefill;
+    }
+}
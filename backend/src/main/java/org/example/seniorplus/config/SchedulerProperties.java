@@ -0,0 +1,56 @@
+package org.example.seniorplus.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "notification.scheduler")
+public class SchedulerProperties {
+    private int shards = 16;
+    private Duration leaseDuration = Duration.ofSeconds(30);
+    private Duration renewInterval = Duration.ofSeconds(10);
+    private String instanceId;
+    private Duration maxCatchUp = Duration.ofHours(1);
+
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public Duration getRenewInterval() {
+        return renewInterval;
+    }
+
+    public void setRenewInterval(Duration renewInterval) {
+        this.renewInterval = renewInterval;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public Duration getMaxCatchUp() {
+        return maxCatchUp;
+    }
+
+    public void setMaxCatchUp(Duration maxCatchUp) {
+        this.maxCatchUp = maxCatchUp;
+    }
+}
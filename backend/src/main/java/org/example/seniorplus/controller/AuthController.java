@@ -1,23 +1,40 @@
 package org.example.seniorplus.controller;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.example.seniorplus.domain.Cpf;
 import org.example.seniorplus.domain.Role;
 import org.example.seniorplus.domain.Usuario;
 import org.example.seniorplus.dto.AuthenticationResponse;
 import org.example.seniorplus.dto.LoginRequest;
+import org.example.seniorplus.dto.RefreshRequest;
 import org.example.seniorplus.dto.RegisterRequest;
+import org.example.seniorplus.exception.SobrecargaException;
 import org.example.seniorplus.repository.UsuarioRepository;
+import org.example.seniorplus.security.BlobAccessCookie;
+import org.example.seniorplus.security.CurrentUser;
 import org.example.seniorplus.security.JwtService;
+import org.example.seniorplus.security.PasswordHashingExecutor;
+import org.example.seniorplus.security.TokenRevocationList;
+import org.example.seniorplus.security.UsuarioAutenticado;
+import org.example.seniorplus.service.RefreshTokenService;
+import org.example.seniorplus.service.ratelimit.AuthRateLimiter;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -25,13 +42,21 @@ import java.security.Principal;
 public class AuthController {
 
     private final UsuarioRepository usuarioRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashing;
+    private final AuthRateLimiter rateLimiter;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList revocationList;
+    private final MeterRegistry meterRegistry;
+    private final BlobAccessCookie blobAccessCookie;
 
     @Operation(summary = "Registrar usuário")
     @PostMapping("/register")
     public ResponseEntity<AuthenticationResponse> register(@RequestBody RegisterRequest request,
-                                                           Principal principal) {
+                                                           @CurrentUser(required = false) UsuarioAutenticado usuarioLogado,
+                                                           HttpServletRequest httpRequest) {
+
+        rateLimiter.verificar(httpRequest.getRemoteAddr(), request.getEmail());
 
         try {
             System.out.println("=== REGISTRO - DADOS RECEBIDOS ===");
@@ -60,10 +85,11 @@ public class AuthController {
 
             String cpfNormalizado = null;
             if (request.getCpf() != null && !request.getCpf().isBlank()) {
-                cpfNormalizado = request.getCpf().replaceAll("\\D", "");
-                if (cpfNormalizado.length() != 11) {
+                Cpf cpf = Cpf.parse(request.getCpf());
+                if (cpf == null) {
                     throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O CPF deve conter 11 dígitos.");
                 }
+                cpfNormalizado = cpf.valor();
             } else {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O CPF é obrigatório.");
             }
@@ -83,7 +109,7 @@ public class AuthController {
             usuario.setNome(request.getNome());
             usuario.setCpf(cpfNormalizado);
             usuario.setEmail(request.getEmail());
-            usuario.setSenha(passwordEncoder.encode(request.getSenha()));
+            usuario.setSenha(passwordHashing.encode(request.getSenha()));
 
         // Mapear tipoUsuario para Role
         if (request.getTipoUsuario() != null) {
@@ -99,12 +125,9 @@ public class AuthController {
             }
         } else if (request.getRole() == Role.ROLE_ADMIN) {
             // Lógica para criar ADMIN (apenas ADMIN pode criar outro ADMIN)
-            if (principal == null) {
+            if (usuarioLogado == null) {
                 usuario.setRole(Role.ROLE_USER);
             } else {
-                Usuario usuarioLogado = usuarioRepository.findByEmail(principal.getName())
-                        .orElseThrow(() -> new RuntimeException("Usuário logado não encontrado"));
-
                 if (usuarioLogado.getRole() == Role.ROLE_ADMIN) {
                     usuario.setRole(Role.ROLE_ADMIN);
                 } else {
@@ -117,10 +140,10 @@ public class AuthController {
 
         usuarioRepository.save(usuario);
 
-        AuthenticationResponse token = jwtService.generateToken(usuario);
+        AuthenticationResponse token = refreshTokenService.emitir(usuario);
 
         System.out.println("SUCESSO: Usuário registrado - " + usuario.getEmail());
-        return ResponseEntity.ok(token);
+        return comCookieDeArquivos(token, httpRequest);
         
         } catch (Exception e) {
             System.out.println("ERRO NO REGISTRO: " + e.getClass().getName());
@@ -130,6 +153,10 @@ public class AuthController {
                 throw responseStatusException;
             }
 
+            if (e instanceof SobrecargaException sobrecargaException) {
+                throw sobrecargaException;
+            }
+
             if (e instanceof DataIntegrityViolationException) {
                 throw new ResponseStatusException(HttpStatus.CONFLICT, "Não foi possível concluir o cadastro. Verifique se CPF ou e-mail já estão em uso.");
             }
@@ -140,30 +167,72 @@ public class AuthController {
 
     @Operation(summary = "Autenticar usuário e obter token JWT", security = @SecurityRequirement(name = "BearerAuth"))
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationResponse> authenticate(@RequestBody LoginRequest request) {
+    public ResponseEntity<AuthenticationResponse> authenticate(@RequestBody LoginRequest request,
+                                                               HttpServletRequest httpRequest) {
         System.out.println("=== LOGIN - TENTATIVA ===");
         System.out.println("Email: " + request.getEmail());
+        rateLimiter.verificar(httpRequest.getRemoteAddr(), request.getEmail());
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        String resultado = "error";
         try {
             Usuario usuario = usuarioRepository.findByEmail(request.getEmail())
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário ou senha inválidos"));
 
-            if (!passwordEncoder.matches(request.getSenha(), usuario.getSenha())) {
+            if (!passwordHashing.matches(request.getSenha(), usuario.getSenha())) {
                 System.out.println("Falha de login: senha incorreta para " + request.getEmail());
                 throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário ou senha inválidos");
             }
 
-            AuthenticationResponse token = jwtService.generateToken(usuario);
+            AuthenticationResponse token = refreshTokenService.emitir(usuario);
             System.out.println("SUCESSO LOGIN: " + usuario.getEmail());
-            return ResponseEntity.ok(token);
+            resultado = "success";
+            return comCookieDeArquivos(token, httpRequest);
         } catch (ResponseStatusException e) {
             System.out.println("ERRO LOGIN STATUS: " + e.getStatusCode() + " - " + e.getReason());
+            resultado = "rejected";
+            throw e;
+        } catch (SobrecargaException e) {
+            System.out.println("LOGIN RECUSADO POR SOBRECARGA: " + e.getMessage());
+            resultado = "overloaded";
             throw e;
         } catch (Exception e) {
             System.out.println("ERRO LOGIN INESPERADO: " + e.getClass().getName() + " - " + e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao autenticar. Tente novamente.");
+        } finally {
+            amostra.stop(meterRegistry.timer("auth.login", "result", resultado));
         }
     }
 
+    @Operation(summary = "Trocar o refresh token por um novo par de tokens")
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(@RequestBody RefreshRequest request,
+                                                          HttpServletRequest httpRequest) {
+        rateLimiter.verificar(httpRequest.getRemoteAddr(), null);
+        return comCookieDeArquivos(refreshTokenService.rotacionar(request.getRefreshToken()), httpRequest);
+    }
+
+    @Operation(summary = "Encerrar a sessão: revoga o refresh token e o access token atual", security = @SecurityRequirement(name = "BearerAuth"))
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequest request,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       HttpServletRequest httpRequest) {
+        if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            refreshTokenService.revogar(request.getRefreshToken());
+        }
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtService.parseAndVerify(authorization.substring(7));
+                revocationList.revogar(claims.getId(), LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+            } catch (JwtException e) {
+                // Token inválido ou expirado: nada a revogar
+            }
+        }
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, blobAccessCookie.remover(httpRequest).toString())
+                .build();
+    }
+
     @Operation(summary = "Obter dados do usuário autenticado", security = @SecurityRequirement(name = "BearerAuth"))
     @GetMapping("/conta")
     public ResponseEntity<Usuario> getConta(Principal principal) {
@@ -176,4 +245,12 @@ public class AuthController {
         
         return ResponseEntity.ok(usuario);
     }
+
+    // O access token também vai num cookie restrito a /api/v1/blobs, para fotos e anexos em <img src>
+    private ResponseEntity<AuthenticationResponse> comCookieDeArquivos(AuthenticationResponse token,
+                                                                       HttpServletRequest httpRequest) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, blobAccessCookie.emitir(token.getToken(), httpRequest).toString())
+                .body(token);
+    }
 }
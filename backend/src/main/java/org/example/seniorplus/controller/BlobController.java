@@ -0,0 +1,57 @@
+package org.example.seniorplus.controller;
+
+import org.example.seniorplus.domain.Blob;
+import org.example.seniorplus.security.CurrentUser;
+import org.example.seniorplus.security.UsuarioAutenticado;
+import org.example.seniorplus.service.blob.BlobService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/blobs")
+public class BlobController {
+
+    private final BlobService blobService;
+
+    public BlobController(BlobService blobService) {
+        this.blobService = blobService;
+    }
+
+    // Upload binário (multipart), sem o acréscimo de ~33% do base64; conteúdo repetido reaproveita o mesmo blob
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> upload(@RequestParam("arquivo") MultipartFile arquivo,
+                                                      @CurrentUser UsuarioAutenticado usuario) throws IOException {
+        Blob blob;
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            blob = blobService.armazenar(conteudo, arquivo.getContentType());
+        }
+        blobService.concederAcesso(blob.getHash(), usuario.getId());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("hash", blob.getHash());
+        body.put("url", BlobService.referencia(blob.getHash()));
+        body.put("contentType", blob.getContentType());
+        body.put("tamanho", blob.getTamanho());
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    }
+
+    // Autenticado (Bearer ou o cookie de arquivos, para <img src>) e só para quem acessa um registro que
+    // referencia o arquivo; sem permissão a resposta é 404, para não confirmar que o hash existe
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> download(@PathVariable String hash, @CurrentUser UsuarioAutenticado usuario) {
+        if (!BlobResponses.podeLer(blobService, hash, usuario)) {
+            return ResponseEntity.notFound().build();
+        }
+        return blobService.abrirArquivo(hash)
+                .map(BlobResponses::servir)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.seniorplus.controller;
+
+import org.example.seniorplus.domain.Blob;
+import org.example.seniorplus.domain.Role;
+import org.example.seniorplus.security.UsuarioAutenticado;
+import org.example.seniorplus.service.blob.BlobService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+/**
+ * Resposta HTTP padrão para conteúdo do BlobStore. Como a URL muda junto com o conteúdo, o
+ * hash serve de ETag forte e a resposta pode ficar em cache por um ano como immutable, mas só
+ * no navegador (private): são fotos e documentos de saúde, que proxies e CDNs não devem guardar.
+ * O Spring MVC cuida do resto ao receber um Resource: If-None-Match vira 304 e Range vira 206
+ * com ResourceRegion, sem carregar o arquivo inteiro em memória.
+ */
+final class BlobResponses {
+
+    private static final CacheControl CACHE_IMUTAVEL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePrivate()
+            .immutable();
+
+    private BlobResponses() {
+    }
+
+    static ResponseEntity<Resource> servir(BlobService.ArquivoBlob arquivo) {
+        Blob blob = arquivo.blob();
+        return ResponseEntity.ok()
+                .eTag(blob.getHash())
+                .cacheControl(CACHE_IMUTAVEL)
+                .contentType(MediaType.parseMediaType(blob.getContentType()))
+                .header("X-Content-Type-Options", "nosniff")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
+                .body(arquivo.conteudo());
+    }
+
+    // Administradores leem tudo; os demais só o que enviaram ou o que pertence aos idosos que acessam
+    static boolean podeLer(BlobService blobService, String hash, UsuarioAutenticado usuario) {
+        return usuario.getRole() == Role.ROLE_ADMIN || blobService.podeLer(hash, usuario.getId(), usuario.getCpf());
+    }
+}
@@ -2,18 +2,17 @@ package org.example.seniorplus.controller;
 
 import org.example.seniorplus.domain.CaregiverLinkRequest;
 import org.example.seniorplus.domain.Role;
-import org.example.seniorplus.domain.Usuario;
 import org.example.seniorplus.dto.CaregiverLinkRequestDto;
 import org.example.seniorplus.dto.CreateCaregiverLinkRequest;
 import org.example.seniorplus.dto.RespondCaregiverLinkRequest;
-import org.example.seniorplus.repository.UsuarioRepository;
+import org.example.seniorplus.security.CurrentUser;
+import org.example.seniorplus.security.UsuarioAutenticado;
 import org.example.seniorplus.service.CaregiverLinkService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -21,17 +20,14 @@ import java.util.List;
 public class CaregiverLinkController {
 
     private final CaregiverLinkService linkService;
-    private final UsuarioRepository usuarioRepository;
 
-    public CaregiverLinkController(CaregiverLinkService linkService, UsuarioRepository usuarioRepository) {
+    public CaregiverLinkController(CaregiverLinkService linkService) {
         this.linkService = linkService;
-        this.usuarioRepository = usuarioRepository;
     }
 
     @PostMapping("/solicitacoes")
     public ResponseEntity<CaregiverLinkRequestDto> solicitarVinculo(@RequestBody CreateCaregiverLinkRequest request,
-                                                                    Principal principal) {
-        Usuario usuario = resolverUsuario(principal);
+                                                                    @CurrentUser UsuarioAutenticado usuario) {
         if (usuario.getRole() != Role.ROLE_CUIDADOR) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas cuidadores podem solicitar vínculos.");
         }
@@ -47,8 +43,7 @@ public class CaregiverLinkController {
     }
 
     @GetMapping("/solicitacoes")
-    public ResponseEntity<List<CaregiverLinkRequestDto>> listarSolicitacoes(Principal principal) {
-        Usuario usuario = resolverUsuario(principal);
+    public ResponseEntity<List<CaregiverLinkRequestDto>> listarSolicitacoes(@CurrentUser UsuarioAutenticado usuario) {
         if (usuario.getRole() == Role.ROLE_IDOSO) {
             List<CaregiverLinkRequestDto> pendentes = linkService.listarPendentesParaIdoso(usuario.getCpf());
             return ResponseEntity.ok(pendentes);
@@ -65,8 +60,7 @@ public class CaregiverLinkController {
     @PostMapping("/solicitacoes/{id}/responder")
     public ResponseEntity<CaregiverLinkRequestDto> responderSolicitacao(@PathVariable Long id,
                                                                         @RequestBody RespondCaregiverLinkRequest body,
-                                                                        Principal principal) {
-        Usuario usuario = resolverUsuario(principal);
+                                                                        @CurrentUser UsuarioAutenticado usuario) {
         if (usuario.getRole() != Role.ROLE_IDOSO) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas idosos podem responder solicitações.");
         }
@@ -94,13 +88,4 @@ public class CaregiverLinkController {
             throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage(), ex);
         }
     }
-
-    private Usuario resolverUsuario(Principal principal) {
-        if (principal == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário não autenticado.");
-        }
-
-        return usuarioRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário não encontrado."));
-    }
 }
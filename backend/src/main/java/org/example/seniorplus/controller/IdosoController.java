@@ -1,21 +1,27 @@
 package org.example.seniorplus.controller;
 
+import org.example.seniorplus.domain.Cpf;
 import org.example.seniorplus.domain.Cuidador;
 import org.example.seniorplus.domain.Idoso;
 import org.example.seniorplus.domain.Role;
-import org.example.seniorplus.domain.Usuario;
 import org.example.seniorplus.dto.CaregiverLinkRequest;
 import org.example.seniorplus.dto.IdosoRequest;
-import org.example.seniorplus.repository.UsuarioRepository;
+import org.example.seniorplus.dto.IdosoResumoPagina;
+import org.example.seniorplus.security.CurrentUser;
+import org.example.seniorplus.security.UsuarioAutenticado;
 import org.example.seniorplus.service.IdosoService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
 
-import java.security.Principal;
 import java.util.List;
-import java.util.Optional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
@@ -27,19 +33,20 @@ public class IdosoController {
     @Autowired
     private IdosoService idosoService;
 
-    @Autowired
-    private UsuarioRepository usuarioRepository;
-
-   @GetMapping
-    public ResponseEntity<List<Idoso>> findAll() {
-       List<Idoso> idosos = idosoService.buscarTodos();
-       return ResponseEntity.ok().body(idosos);
-   }
+    // Listagem paginada por cursor (cpf) com um resumo de cada idoso; o registro completo fica em /{cpf}
+    @GetMapping
+    public ResponseEntity<IdosoResumoPagina> findAll(@RequestParam(required = false) String apos,
+                                                     @RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(idosoService.listarResumos(apos, limite));
+    }
 
     @GetMapping(value = "/{cpf}")
     public ResponseEntity<Idoso> findById(@PathVariable String cpf) {
         Idoso find = idosoService.buscarPorCpf(cpf);
-        return find != null ? ResponseEntity.ok(find) : ResponseEntity.notFound().build();
+        // O ETag é a versão, para clientes que preferem reenviá-la no If-Match
+        return find != null
+                ? ResponseEntity.ok().eTag(String.valueOf(find.getVersion())).body(find)
+                : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/cuidador/{cpf}")
@@ -49,17 +56,7 @@ public class IdosoController {
     }
 
     @GetMapping("/informacoesIdoso")
-    public ResponseEntity<Idoso> getCurrentElderly(Principal principal) {
-        if (principal == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        Optional<Usuario> usuarioOpt = usuarioRepository.findByEmail(principal.getName());
-        if (usuarioOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        Usuario usuario = usuarioOpt.get();
+    public ResponseEntity<Idoso> getCurrentElderly(@CurrentUser UsuarioAutenticado usuario) {
         Role role = usuario.getRole();
 
         if (role == Role.ROLE_IDOSO) {
@@ -85,13 +82,25 @@ public class IdosoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    // A versão vem do corpo ou do If-Match; sem nenhum dos dois, a última escrita vence
     @PutMapping(value = "/{cpf}")
-    public ResponseEntity<Idoso> update(@PathVariable String cpf, @RequestBody IdosoRequest request) {
+    public ResponseEntity<Idoso> update(@PathVariable String cpf, @RequestBody IdosoRequest request,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Idoso entity = mapToEntity(request);
+        entity.setVersion(request.getVersion() != null ? request.getVersion() : versaoDoIfMatch(ifMatch));
         Idoso updated = idosoService.atualizar(cpf, entity);
         return ResponseEntity.ok(updated);
     }
 
+    // Foto de perfil em binário; o campo fotoUrl passa a guardar apenas a referência ao blob
+    @PostMapping(value = "/{cpf}/foto", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Idoso> uploadFoto(@PathVariable String cpf,
+                                            @RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            return ResponseEntity.ok(idosoService.atualizarFoto(cpf, conteudo, arquivo.getContentType()));
+        }
+    }
+
     @PutMapping(value = "/{cpf}/cuidador")
     public ResponseEntity<Idoso> linkCaregiver(@PathVariable String cpf, @RequestBody CaregiverLinkRequest request) {
         if (request.getCuidadorCpf() == null || request.getCuidadorCpf().isBlank()) {
@@ -113,10 +122,26 @@ public class IdosoController {
         return ResponseEntity.noContent().build();
     }
 
+    private static Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        valor = valor.replace("\"", "");
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
+    }
+
     private Idoso mapToEntity(IdosoRequest request) {
         Idoso idoso = new Idoso();
 
-        String cpfNormalizado = normalizarCpf(request.getCpf());
+        String cpfNormalizado = Cpf.normalizar(request.getCpf());
         idoso.setCpf(cpfNormalizado);
         idoso.setRg(request.getRg());
         idoso.setNome(request.getNome());
@@ -141,13 +166,14 @@ public class IdosoController {
         idoso.setAltura(request.getAltura());
         idoso.setTipoSanguineo(request.getTipoSanguineo());
         idoso.setObservacao(request.getObservacao());
+        idoso.setWhatsappApiKey(request.getWhatsappApiKey());
         idoso.setAlergias(request.getAlergias());
         idoso.setFotoUrl(request.getFotoUrl());
         idoso.setNomeContatoEmergencia(request.getNomeContatoEmergencia());
         idoso.setContatoEmergencia(request.getContatoEmergencia());
         idoso.setImc(request.getImc());
 
-        String cuidadorCpf = normalizarCpf(request.getCuidadorCpf());
+        String cuidadorCpf = Cpf.normalizar(request.getCuidadorCpf());
         if (cuidadorCpf != null && !cuidadorCpf.isBlank()) {
             Cuidador cuidador = new Cuidador();
             cuidador.setCpf(cuidadorCpf);
@@ -188,15 +214,4 @@ public class IdosoController {
         throw lastError != null ? lastError : new DateTimeParseException("Formato de data inválido", trimmed, 0);
     }
 
-    private String normalizarCpf(String value) {
-        if (value == null) {
-            return null;
-        }
-        String digits = value.replaceAll("\\D", "");
-        if (digits.length() == 11) {
-            return digits;
-        }
-        return value.trim();
-    }
-
 }
@@ -1,4 +1,74 @@
 package org.example.seniorplus.controller;
 
+import org.example.seniorplus.domain.Imagem;
+import org.example.seniorplus.domain.VarianteImagem;
+import org.example.seniorplus.dto.ImagemResumo;
+import org.example.seniorplus.security.CurrentUser;
+import org.example.seniorplus.security.UsuarioAutenticado;
+import org.example.seniorplus.service.ImagemService;
+import org.example.seniorplus.service.blob.BlobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/imagens")
 public class ImagemController {
+
+    @Autowired
+    private ImagemService imagemService;
+
+    @Autowired
+    private BlobService blobService;
+
+    // Listagens usam por padrão a variante de 320px (cards do painel); ?variante=AVATAR para listas compactas
+    @GetMapping
+    public ResponseEntity<List<ImagemResumo>> findAll(@RequestParam(required = false) String cpf,
+                                                      @RequestParam(defaultValue = "CARD") VarianteImagem variante) {
+        List<Imagem> imagens = cpf == null || cpf.isBlank()
+                ? imagemService.listarTodas()
+                : imagemService.listarPorCpf(cpf);
+        return ResponseEntity.ok(imagens.stream().map(imagem -> ImagemResumo.de(imagem, variante)).toList());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Imagem> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(imagemService.buscarPorId(id));
+    }
+
+    // Upload binário; o arquivo vai para o BlobStore e a imagem guarda a referência em url
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Imagem> upload(@RequestParam String cpf,
+                                         @RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            Imagem salva = imagemService.armazenar(cpf, arquivo.getOriginalFilename(), conteudo, arquivo.getContentType());
+            return ResponseEntity.status(HttpStatus.CREATED).body(salva);
+        }
+    }
+
+    // Conteúdo com ETag, Range e cache imutável; imagens com url externa não são servidas por aqui
+    @GetMapping("/{id}/conteudo")
+    public ResponseEntity<Resource> conteudo(@PathVariable Long id, @CurrentUser UsuarioAutenticado usuario) {
+        String hash = BlobService.hashDaReferencia(imagemService.buscarPorId(id).getUrl());
+        if (hash == null || !BlobResponses.podeLer(blobService, hash, usuario)) {
+            return ResponseEntity.notFound().build();
+        }
+        return blobService.abrirArquivo(hash)
+                .map(BlobResponses::servir)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        imagemService.deletar(id);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,53 @@
+package org.example.seniorplus.domain;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "blobs")
+public class Blob extends BaseEntity {
+    private static final long serialVersionUID = 1L;
+
+    // SHA-256 do conteúdo em hexadecimal; o mesmo conteúdo é gravado uma única vez
+    @Id
+    @Column(length = 64, nullable = false)
+    private String hash;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long tamanho;
+
+    public Blob() {
+    }
+
+    public Blob(String hash, String contentType, long tamanho) {
+        this.hash = hash;
+        this.contentType = contentType;
+        this.tamanho = tamanho;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(long tamanho) {
+        this.tamanho = tamanho;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.seniorplus.domain;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Agenda diária de um medicamento compilada para um vetor ordenado de minutos do dia
+ * (0..1439) sem repetições. Consultas não alocam: a próxima dose é achada por busca binária.
+ */
+public final class CompiledSchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final CompiledSchedule VAZIA = new CompiledSchedule(new int[0]);
+
+    private final int[] minutos;
+
+    private CompiledSchedule(int[] minutos) {
+        this.minutos = minutos;
+    }
+
+    // Expande os horários base com o intervalo em minutos até o fim do dia; intervalo <= 0 usa só a base
+    public static CompiledSchedule compilar(List<LocalTime> horarios, int intervaloMinutos) {
+        if (horarios == null || horarios.isEmpty()) {
+            return VAZIA;
+        }
+        BitSet marcados = new BitSet(MINUTES_PER_DAY);
+        for (LocalTime base : horarios) {
+            if (base == null) {
+                continue;
+            }
+            int minuto = base.getHour() * 60 + base.getMinute();
+            if (intervaloMinutos <= 0) {
+                marcados.set(minuto);
+                continue;
+            }
+            for (; minuto < MINUTES_PER_DAY; minuto += intervaloMinutos) {
+                marcados.set(minuto);
+            }
+        }
+        return marcados.isEmpty() ? VAZIA : new CompiledSchedule(marcados.stream().toArray());
+    }
+
+    public static CompiledSchedule de(Medicamento medicamento) {
+        return compilar(medicamento.getHorarios(), medicamento.getIntervaloMinutos());
+    }
+
+    // Primeiro minuto do dia estritamente depois de minuteOfDay, ou -1 se não houver mais doses no dia
+    public int nextOccurrenceAfter(int minuteOfDay) {
+        int indice = Arrays.binarySearch(minutos, minuteOfDay);
+        indice = indice >= 0 ? indice + 1 : -indice - 1;
+        return indice < minutos.length ? minutos[indice] : -1;
+    }
+
+    public boolean contains(int minuteOfDay) {
+        return Arrays.binarySearch(minutos, minuteOfDay) >= 0;
+    }
+
+    public int size() {
+        return minutos.length;
+    }
+
+    public boolean isEmpty() {
+        return minutos.length == 0;
+    }
+
+    public int minuteAt(int indice) {
+        return minutos[indice];
+    }
+}
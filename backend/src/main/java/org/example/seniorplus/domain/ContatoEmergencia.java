@@ -10,8 +10,9 @@ public class ContatoEmergencia extends BaseEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Gravado pelo CpfConverter sempre com os 11 dígitos
     @Column(name = "idoso_cpf", length = 14, nullable = false)
-    private String idosoCpf;
+    private Cpf idosoCpf;
 
     @Column(length = 120, nullable = false)
     private String nome;
@@ -33,11 +34,11 @@ public class ContatoEmergencia extends BaseEntity {
         this.id = id;
     }
 
-    public String getIdosoCpf() {
+    public Cpf getIdosoCpf() {
         return idosoCpf;
     }
 
-    public void setIdosoCpf(String idosoCpf) {
+    public void setIdosoCpf(Cpf idosoCpf) {
         this.idosoCpf = idosoCpf;
     }
 
@@ -0,0 +1,141 @@
+package org.example.seniorplus.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+
+/**
+ * CPF na forma canônica: exatamente 11 dígitos, sem pontuação. A leitura percorre a entrada
+ * uma única vez, ignorando qualquer caractere que não seja dígito, sem expressão regular e
+ * sem strings intermediárias. Os dígitos verificadores são conferidos à parte, em
+ * {@link #isValido()}, porque há cadastros antigos que não passariam na verificação.
+ */
+public final class Cpf implements Serializable, Comparable<Cpf> {
+    private static final long serialVersionUID = 1L;
+
+    public static final int TAMANHO = 11;
+
+    private final String digitos;
+
+    private Cpf(String digitos) {
+        this.digitos = digitos;
+    }
+
+    /**
+     * Lê um CPF com ou sem máscara ("123.456.789-09", "12345678909").
+     *
+     * @throws IllegalArgumentException se a entrada não tiver exatamente 11 dígitos
+     */
+    @JsonCreator
+    public static Cpf of(String valor) {
+        String digitos = extrairDigitos(valor);
+        if (digitos == null) {
+            throw new IllegalArgumentException("CPF deve conter 11 dígitos: " + valor);
+        }
+        return new Cpf(digitos);
+    }
+
+    // Como of(), mas devolve null em vez de lançar exceção
+    public static Cpf parse(String valor) {
+        String digitos = extrairDigitos(valor);
+        return digitos == null ? null : new Cpf(digitos);
+    }
+
+    /**
+     * Normalização tolerante usada nas buscas: devolve os 11 dígitos quando a entrada tem
+     * exatamente 11, senão o valor original sem espaços nas pontas (null continua null).
+     */
+    public static String normalizar(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String digitos = extrairDigitos(valor);
+        return digitos != null ? digitos : valor.trim();
+    }
+
+    // Dígitos verificadores conforme o algoritmo da Receita; sequências repetidas são inválidas
+    public boolean isValido() {
+        boolean repetido = true;
+        for (int i = 1; i < TAMANHO && repetido; i++) {
+            repetido = digitos.charAt(i) == digitos.charAt(0);
+        }
+        return !repetido
+                && digitoVerificador(9) == digitos.charAt(9) - '0'
+                && digitoVerificador(10) == digitos.charAt(10) - '0';
+    }
+
+    @JsonValue
+    public String valor() {
+        return digitos;
+    }
+
+    public String formatado() {
+        return digitos.substring(0, 3) + '.' + digitos.substring(3, 6) + '.'
+                + digitos.substring(6, 9) + '-' + digitos.substring(9);
+    }
+
+    @Override
+    public int compareTo(Cpf outro) {
+        return digitos.compareTo(outro.digitos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Cpf outro)) return false;
+        return digitos.equals(outro.digitos);
+    }
+
+    @Override
+    public int hashCode() {
+        return digitos.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return digitos;
+    }
+
+    private int digitoVerificador(int posicao) {
+        int soma = 0;
+        for (int i = 0; i < posicao; i++) {
+            soma += (digitos.charAt(i) - '0') * (posicao + 1 - i);
+        }
+        int resto = (soma * 10) % 11;
+        return resto == 10 ? 0 : resto;
+    }
+
+    // Uma passada: conta os dígitos e só aloca a string final quando há exatamente 11
+    private static String extrairDigitos(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        int tamanho = valor.length();
+        int total = 0;
+        boolean limpo = true;
+        for (int i = 0; i < tamanho; i++) {
+            char c = valor.charAt(i);
+            if (c >= '0' && c <= '9') {
+                total++;
+            } else {
+                limpo = false;
+            }
+        }
+        if (total != TAMANHO) {
+            return null;
+        }
+        if (limpo) {
+            return valor;
+        }
+        char[] digitos = new char[TAMANHO];
+        int j = 0;
+        for (int i = 0; i < tamanho; i++) {
+            char c = valor.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos[j++] = c;
+            }
+        }
+        return new String(digitos);
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.seniorplus.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Atributos do tipo Cpf são gravados como os 11 dígitos canônicos. Desde a V24 as colunas só
+// guardam essa forma (CHECK ou FK para uma coluna com CHECK), então um valor fora dela na leitura
+// é dado corrompido e falha aqui em vez de circular como Cpf
+@Converter(autoApply = true)
+public class CpfConverter implements AttributeConverter<Cpf, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Cpf cpf) {
+        return cpf == null ? null : cpf.valor();
+    }
+
+    @Override
+    public Cpf convertToEntityAttribute(String valor) {
+        return valor == null ? null : Cpf.of(valor);
+    }
+}
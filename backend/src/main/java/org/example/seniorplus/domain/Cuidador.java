@@ -2,12 +2,16 @@ package org.example.seniorplus.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "cuidadores")
 @JsonIgnoreProperties({"enderecos", "hibernateLazyInitializer", "handler"})
 public class Cuidador extends BaseEntity {
@@ -32,6 +36,7 @@ public class Cuidador extends BaseEntity {
     @Column(length = 20)
     private String telefone;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "cuidador_id")
     private List<Endereco> enderecos = new ArrayList<>();
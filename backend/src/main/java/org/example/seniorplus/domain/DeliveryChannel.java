@@ -0,0 +1,8 @@
+package org.example.seniorplus.domain;
+
+public enum DeliveryChannel {
+    WHATSAPP,
+    SMS,
+    EMAIL,
+    IN_APP
+}
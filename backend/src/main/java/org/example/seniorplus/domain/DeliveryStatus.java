@@ -0,0 +1,7 @@
+package org.example.seniorplus.domain;
+
+public enum DeliveryStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,78 @@
+package org.example.seniorplus.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "dose_occurrences")
+public class DoseOccurrence extends BaseEntity {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "medicamento_id", nullable = false)
+    private Long medicamentoId;
+
+    @Column(name = "idoso_cpf", length = 14, nullable = false)
+    private String idosoCpf;
+
+    @Column(name = "cpf_hash", nullable = false)
+    private int cpfHash;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DoseOccurrenceStatus status = DoseOccurrenceStatus.PENDING;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getMedicamentoId() {
+        return medicamentoId;
+    }
+
+    public void setMedicamentoId(Long medicamentoId) {
+        this.medicamentoId = medicamentoId;
+    }
+
+    public String getIdosoCpf() {
+        return idosoCpf;
+    }
+
+    public void setIdosoCpf(String idosoCpf) {
+        this.idosoCpf = idosoCpf;
+    }
+
+    public int getCpfHash() {
+        return cpfHash;
+    }
+
+    public void setCpfHash(int cpfHash) {
+        this.cpfHash = cpfHash;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    public DoseOccurrenceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DoseOccurrenceStatus status) {
+        this.status = status;
+    }
+}
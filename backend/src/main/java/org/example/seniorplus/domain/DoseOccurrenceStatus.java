@@ -0,0 +1,7 @@
+package org.example.seniorplus.domain;
+
+public enum DoseOccurrenceStatus {
+    PENDING,
+    NOTIFIED,
+    FAILED
+}
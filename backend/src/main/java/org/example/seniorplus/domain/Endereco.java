@@ -1,9 +1,13 @@
 package org.example.seniorplus.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "enderecos")
 public class Endereco extends BaseEntity {
     private static final long serialVersionUID = 1L;
@@ -19,6 +19,10 @@ public class ExameMedico extends BaseEntity {
     private String laboratorio;
     private String observacoes;
 
+    // Referências (/api/v1/blobs/{hash}) dos arquivos anexados, uma por linha
+    @Column(columnDefinition = "TEXT")
+    private String anexos;
+
     public ExameMedico() {}
 
     public ExameMedico(String cpf, String tipoExame, String resultado,
@@ -79,6 +83,14 @@ public class ExameMedico extends BaseEntity {
         this.observacoes = observacoes;
     }
 
+    public String getAnexos() {
+        return anexos;
+    }
+
+    public void setAnexos(String anexos) {
+        this.anexos = anexos;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,6 +1,7 @@
 package org.example.seniorplus.domain;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -60,10 +61,19 @@ public class Idoso extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String alergias;
 
+    // Chave do callmebot; nunca devolvida nas respostas da API
+    @JsonIgnore
+    @Column(name = "whatsapp_api_key", length = 64)
+    private String whatsappApiKey;
+
     @Lob
     @Column(name = "foto_url")
     private String fotoUrl;
 
+    // Variante de 64px da foto, gerada em segundo plano; nula enquanto não fica pronta
+    @Column(name = "foto_miniatura_url", length = 100)
+    private String fotoMiniaturaUrl;
+
     @Column(name = "nome_contato_emergencia", length = 150)
     private String nomeContatoEmergencia;
 
@@ -82,6 +92,11 @@ public class Idoso extends BaseEntity {
     @JoinColumn(name = "idoso_id")
     private List<Endereco> enderecos = new ArrayList<>();
 
+    // Nulo até o primeiro persist; o cliente recebe a versão e a devolve no PUT (corpo ou If-Match)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Idoso() {
     }
 
@@ -210,6 +225,14 @@ public class Idoso extends BaseEntity {
         this.observacao = observacao;
     }
 
+    public String getWhatsappApiKey() {
+        return whatsappApiKey;
+    }
+
+    public void setWhatsappApiKey(String whatsappApiKey) {
+        this.whatsappApiKey = whatsappApiKey;
+    }
+
     public String getAlergias() {
         return alergias;
     }
@@ -226,6 +249,14 @@ public class Idoso extends BaseEntity {
         this.fotoUrl = fotoUrl;
     }
 
+    public String getFotoMiniaturaUrl() {
+        return fotoMiniaturaUrl;
+    }
+
+    public void setFotoMiniaturaUrl(String fotoMiniaturaUrl) {
+        this.fotoMiniaturaUrl = fotoMiniaturaUrl;
+    }
+
     public String getNomeContatoEmergencia() {
         return nomeContatoEmergencia;
     }
@@ -275,6 +306,14 @@ public class Idoso extends BaseEntity {
         this.cuidador = cuidador;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setDataNascimento(LocalDate date) {
         if (date == null) {
             this.dataNascimento = null;
@@ -18,6 +18,16 @@ public class Imagem extends BaseEntity {
     private String tipo;
     private LocalDateTime dataUpload;
 
+    // Variantes redimensionadas (referências ao BlobStore); nulas até o processamento em segundo plano
+    @Column(name = "url_avatar", length = 100)
+    private String urlAvatar;
+
+    @Column(name = "url_card", length = 100)
+    private String urlCard;
+
+    @Column(name = "url_grande", length = 100)
+    private String urlGrande;
+
     public Imagem() {}
 
     public Imagem(Long id, String cpf, String nomeArquivo, String url, String tipo, LocalDateTime dataUpload) {
@@ -77,4 +87,38 @@ public class Imagem extends BaseEntity {
     public void setDataUpload(LocalDateTime dataUpload) {
         this.dataUpload = dataUpload;
     }
+
+    public String getUrlAvatar() {
+        return urlAvatar;
+    }
+
+    public void setUrlAvatar(String urlAvatar) {
+        this.urlAvatar = urlAvatar;
+    }
+
+    public String getUrlCard() {
+        return urlCard;
+    }
+
+    public void setUrlCard(String urlCard) {
+        this.urlCard = urlCard;
+    }
+
+    public String getUrlGrande() {
+        return urlGrande;
+    }
+
+    public void setUrlGrande(String urlGrande) {
+        this.urlGrande = urlGrande;
+    }
+
+    // URL da variante pedida, ou do original enquanto as variantes não existem
+    public String urlDaVariante(VarianteImagem variante) {
+        String url = switch (variante) {
+            case AVATAR -> urlAvatar;
+            case CARD -> urlCard;
+            case GRANDE -> urlGrande;
+        };
+        return url != null ? url : this.url;
+    }
 }
@@ -236,19 +236,22 @@ public class Medicamento extends BaseEntity {
     public List<LocalTime> gerarHorariosNasProximas2Horas() {
         List<LocalTime> proximosHorarios = new java.util.ArrayList<>();
         LocalTime agora = LocalTime.now().withSecond(0).withNano(0);
-        LocalTime fim = agora.plusHours(2);
-
-        // Use uma variável local para garantir o tipo
-        List<LocalTime> listaHorarios = this.horarios != null ? this.horarios : List.of();
-
-        for (LocalTime base : listaHorarios) {
-            LocalTime horario = base;
-            while (horario.isBefore(fim)) {
-                if (!horario.isBefore(agora)) {
-                    proximosHorarios.add(horario);
-                }
-                horario = horario.plusMinutes(this.intervaloMinutos);
-            }
+        int inicio = agora.getHour() * 60 + agora.getMinute();
+        int fim = inicio + 120;
+
+        // A agenda compilada evita o laço com plusMinutes (que não terminava com intervaloMinutos = 0)
+        CompiledSchedule agenda = CompiledSchedule.de(this);
+        for (int minuto = agenda.nextOccurrenceAfter(inicio - 1);
+             minuto >= 0 && minuto < fim;
+             minuto = agenda.nextOccurrenceAfter(minuto)) {
+            proximosHorarios.add(LocalTime.of(minuto / 60, minuto % 60));
+        }
+        // Janela que atravessa a meia-noite continua no início do dia seguinte
+        int restante = fim - CompiledSchedule.MINUTES_PER_DAY;
+        for (int minuto = agenda.nextOccurrenceAfter(-1);
+             restante > 0 && minuto >= 0 && minuto < restante;
+             minuto = agenda.nextOccurrenceAfter(minuto)) {
+            proximosHorarios.add(LocalTime.of(minuto / 60, minuto % 60));
         }
         return proximosHorarios;
     }
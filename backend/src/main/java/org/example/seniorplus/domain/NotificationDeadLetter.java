@@ -0,0 +1,88 @@
+package org.example.seniorplus.domain;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "notification_dead_letters")
+public class NotificationDeadLetter extends BaseEntity {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "medicamento_id")
+    private Long medicamentoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private DeliveryChannel channel;
+
+    @Column(length = 120)
+    private String destino;
+
+    @Column(columnDefinition = "TEXT")
+    private String conteudo;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(length = 500)
+    private String erro;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getMedicamentoId() {
+        return medicamentoId;
+    }
+
+    public void setMedicamentoId(Long medicamentoId) {
+        this.medicamentoId = medicamentoId;
+    }
+
+    public DeliveryChannel getChannel() {
+        return channel;
+    }
+
+    public void setChannel(DeliveryChannel channel) {
+        this.channel = channel;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public void setDestino(String destino) {
+        this.destino = destino;
+    }
+
+    public String getConteudo() {
+        return conteudo;
+    }
+
+    public void setConteudo(String conteudo) {
+        this.conteudo = conteudo;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(int tentativas) {
+        this.tentativas = tentativas;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+}
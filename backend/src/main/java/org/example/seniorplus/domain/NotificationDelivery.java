@@ -0,0 +1,125 @@
+package org.example.seniorplus.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_deliveries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_delivery",
+                columnNames = {"medicamento_id", "dose_at", "channel"}))
+public class NotificationDelivery extends BaseEntity {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "medicamento_id", nullable = false)
+    private Long medicamentoId;
+
+    @Column(name = "dose_at", nullable = false)
+    private LocalDateTime doseAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DeliveryChannel channel;
+
+    @Column(length = 120)
+    private String destino;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DeliveryStatus status = DeliveryStatus.PENDING;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(length = 500)
+    private String erro;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getMedicamentoId() {
+        return medicamentoId;
+    }
+
+    public void setMedicamentoId(Long medicamentoId) {
+        this.medicamentoId = medicamentoId;
+    }
+
+    public LocalDateTime getDoseAt() {
+        return doseAt;
+    }
+
+    public void setDoseAt(LocalDateTime doseAt) {
+        this.doseAt = doseAt;
+    }
+
+    public DeliveryChannel getChannel() {
+        return channel;
+    }
+
+    public void setChannel(DeliveryChannel channel) {
+        this.channel = channel;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public void setDestino(String destino) {
+        this.destino = destino;
+    }
+
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DeliveryStatus status) {
+        this.status = status;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(int tentativas) {
+        this.tentativas = tentativas;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+}
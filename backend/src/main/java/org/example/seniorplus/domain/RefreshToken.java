@@ -0,0 +1,53 @@
+package org.example.seniorplus.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@ToString(exclude = "usuario")
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    // SHA-256 do token entregue ao cliente; o valor em si nunca é gravado
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // Tokens rotacionados a partir do mesmo login compartilham a família
+    @Column(nullable = false, length = 36)
+    private String familia;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    // Access token emitido junto com este refresh, para revogá-lo com a família
+    @Column(name = "access_jti", length = 36)
+    private String accessJti;
+
+    @Column(name = "access_expires_at")
+    private LocalDateTime accessExpiresAt;
+
+    public boolean isExpirado() {
+        return LocalDateTime.now().isAfter(expiresAt);
+    }
+}
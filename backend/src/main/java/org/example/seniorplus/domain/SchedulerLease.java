@@ -0,0 +1,54 @@
+package org.example.seniorplus.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease extends BaseEntity {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private Integer shard;
+
+    @Column(length = 100)
+    private String owner;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "high_water_mark")
+    private LocalDateTime highWaterMark;
+
+    public Integer getShard() {
+        return shard;
+    }
+
+    public void setShard(Integer shard) {
+        this.shard = shard;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void setHighWaterMark(LocalDateTime highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.seniorplus.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -40,6 +41,11 @@ public class Usuario extends BaseEntity implements UserDetails {
     @Column(nullable = false)
     private Role role;
 
+    // Gravada no claim "ver" dos tokens; incrementar revoga todos os tokens emitidos antes
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.name()));
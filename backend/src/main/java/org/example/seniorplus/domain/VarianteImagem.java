@@ -0,0 +1,18 @@
+package org.example.seniorplus.domain;
+
+// Tamanhos fixos gerados para cada imagem enviada; o valor é o maior lado em pixels
+public enum VarianteImagem {
+    AVATAR(64),
+    CARD(320),
+    GRANDE(1600);
+
+    private final int maiorLado;
+
+    VarianteImagem(int maiorLado) {
+        this.maiorLado = maiorLado;
+    }
+
+    public int getMaiorLado() {
+        return maiorLado;
+    }
+}
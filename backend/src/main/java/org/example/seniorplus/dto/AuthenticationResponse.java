@@ -1,5 +1,6 @@
 package org.example.seniorplus.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,10 +16,21 @@ import java.time.ZoneId;
 public class AuthenticationResponse {
     private String token;
     private LocalDateTime expiresAt;
+    private String refreshToken;
+    private LocalDateTime refreshExpiresAt;
+
+    // jti do access token, usado internamente para revogação
+    @JsonIgnore
+    private String tokenId;
 
     public static AuthenticationResponse of(String token, LocalDateTime expiresAt) {
+        return of(token, expiresAt, null);
+    }
+
+    public static AuthenticationResponse of(String token, LocalDateTime expiresAt, String tokenId) {
         return AuthenticationResponse.builder()
                 .token(token)
+                .tokenId(tokenId)
                 .expiresAt(expiresAt.atZone(ZoneId.of("America/Sao_Paulo")).toLocalDateTime())
                 .build();
     }
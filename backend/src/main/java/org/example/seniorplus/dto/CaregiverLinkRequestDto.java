@@ -15,6 +15,24 @@ public class CaregiverLinkRequestDto {
     private LocalDateTime respondedAt;
     private String mensagem;
 
+    public CaregiverLinkRequestDto() {
+    }
+
+    // Usado pelas consultas de listagem, que já trazem os nomes no mesmo SELECT
+    public CaregiverLinkRequestDto(Long id, String idosoCpf, String cuidadorCpf, String cuidadorNome, String idosoNome,
+                                   CaregiverLinkStatus status, LocalDateTime createdAt, LocalDateTime respondedAt,
+                                   String mensagem) {
+        this.id = id;
+        this.idosoCpf = idosoCpf;
+        this.cuidadorCpf = cuidadorCpf;
+        this.cuidadorNome = cuidadorNome;
+        this.idosoNome = idosoNome;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.respondedAt = respondedAt;
+        this.mensagem = mensagem;
+    }
+
     public Long getId() {
         return id;
     }
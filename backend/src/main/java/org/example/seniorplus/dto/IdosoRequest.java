@@ -17,10 +17,13 @@ public class IdosoRequest {
     private Double altura;
     private String tipoSanguineo;
     private String observacao;
+    private String whatsappApiKey;
     private String alergias;
     private String fotoUrl;
     private String nomeContatoEmergencia;
     private String contatoEmergencia;
     private String imc;
     private String cuidadorCpf;
+    // Versão lida pelo cliente; no PUT, diferente da atual resulta em 409
+    private Long version;
 }
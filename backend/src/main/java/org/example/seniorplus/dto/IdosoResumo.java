@@ -0,0 +1,37 @@
+package org.example.seniorplus.dto;
+
+// Linha da listagem de idosos: sem endereços, sem dados clínicos e sem a foto inline
+public class IdosoResumo {
+    private String cpf;
+    private String nome;
+    private Integer idade;
+    private String cuidadorNome;
+    private String fotoUrl;
+    private boolean temFoto;
+
+    public IdosoResumo() {}
+
+    public IdosoResumo(String cpf, String nome, Integer idade, String cuidadorNome, String fotoUrl, boolean temFoto) {
+        this.cpf = cpf;
+        this.nome = nome;
+        this.idade = idade;
+        this.cuidadorNome = cuidadorNome;
+        this.fotoUrl = fotoUrl;
+        this.temFoto = temFoto;
+    }
+
+    public String getCpf() { return cpf; }
+    public String getNome() { return nome; }
+    public Integer getIdade() { return idade; }
+    public String getCuidadorNome() { return cuidadorNome; }
+    // Miniatura de 64px quando já gerada; senão a URL original (fotos inline ficam só no detalhe)
+    public String getFotoUrl() { return fotoUrl; }
+    public boolean isTemFoto() { return temFoto; }
+
+    public void setCpf(String cpf) { this.cpf = cpf; }
+    public void setNome(String nome) { this.nome = nome; }
+    public void setIdade(Integer idade) { this.idade = idade; }
+    public void setCuidadorNome(String cuidadorNome) { this.cuidadorNome = cuidadorNome; }
+    public void setFotoUrl(String fotoUrl) { this.fotoUrl = fotoUrl; }
+    public void setTemFoto(boolean temFoto) { this.temFoto = temFoto; }
+}
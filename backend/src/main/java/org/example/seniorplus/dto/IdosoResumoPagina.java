@@ -0,0 +1,22 @@
+package org.example.seniorplus.dto;
+
+import java.util.List;
+
+// Página por cursor: para a próxima, enviar proximoCpf como "apos"; null indica a última página
+public class IdosoResumoPagina {
+    private List<IdosoResumo> itens;
+    private String proximoCpf;
+
+    public IdosoResumoPagina() {}
+
+    public IdosoResumoPagina(List<IdosoResumo> itens, String proximoCpf) {
+        this.itens = itens;
+        this.proximoCpf = proximoCpf;
+    }
+
+    public List<IdosoResumo> getItens() { return itens; }
+    public String getProximoCpf() { return proximoCpf; }
+
+    public void setItens(List<IdosoResumo> itens) { this.itens = itens; }
+    public void setProximoCpf(String proximoCpf) { this.proximoCpf = proximoCpf; }
+}
@@ -0,0 +1,51 @@
+package org.example.seniorplus.dto;
+
+import org.example.seniorplus.domain.Imagem;
+import org.example.seniorplus.domain.VarianteImagem;
+
+import java.time.LocalDateTime;
+
+// Item da listagem de imagens: url já aponta para a variante pedida; urlOriginal fica para abrir em tela cheia
+public class ImagemResumo {
+    private Long id;
+    private String cpf;
+    private String nomeArquivo;
+    private String tipo;
+    private LocalDateTime dataUpload;
+    private String url;
+    private String urlOriginal;
+
+    public ImagemResumo() {}
+
+    public ImagemResumo(Long id, String cpf, String nomeArquivo, String tipo, LocalDateTime dataUpload,
+                        String url, String urlOriginal) {
+        this.id = id;
+        this.cpf = cpf;
+        this.nomeArquivo = nomeArquivo;
+        this.tipo = tipo;
+        this.dataUpload = dataUpload;
+        this.url = url;
+        this.urlOriginal = urlOriginal;
+    }
+
+    public static ImagemResumo de(Imagem imagem, VarianteImagem variante) {
+        return new ImagemResumo(imagem.getId(), imagem.getCpf(), imagem.getNomeArquivo(), imagem.getTipo(),
+                imagem.getDataUpload(), imagem.urlDaVariante(variante), imagem.getUrl());
+    }
+
+    public Long getId() { return id; }
+    public String getCpf() { return cpf; }
+    public String getNomeArquivo() { return nomeArquivo; }
+    public String getTipo() { return tipo; }
+    public LocalDateTime getDataUpload() { return dataUpload; }
+    public String getUrl() { return url; }
+    public String getUrlOriginal() { return urlOriginal; }
+
+    public void setId(Long id) { this.id = id; }
+    public void setCpf(String cpf) { this.cpf = cpf; }
+    public void setNomeArquivo(String nomeArquivo) { this.nomeArquivo = nomeArquivo; }
+    public void setTipo(String tipo) { this.tipo = tipo; }
+    public void setDataUpload(LocalDateTime dataUpload) { this.dataUpload = dataUpload; }
+    public void setUrl(String url) { this.url = url; }
+    public void setUrlOriginal(String urlOriginal) { this.urlOriginal = urlOriginal; }
+}
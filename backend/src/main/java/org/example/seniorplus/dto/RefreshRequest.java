@@ -0,0 +1,8 @@
+package org.example.seniorplus.dto;
+
+public class RefreshRequest {
+    private String refreshToken;
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
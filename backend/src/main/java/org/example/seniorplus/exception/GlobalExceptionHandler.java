@@ -1,10 +1,14 @@
 package org.example.seniorplus.exception;
 
+import org.example.seniorplus.service.blob.BlobTooLargeException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -30,6 +34,37 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    @ExceptionHandler(SobrecargaException.class)
+    public ResponseEntity<Map<String, Object>> handleSobrecargaException(SobrecargaException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("erro", ex.getMessage());
+        response.put("tipo", ex.getStatus() == HttpStatus.TOO_MANY_REQUESTS ? "LIMITE_EXCEDIDO" : "SERVICO_SOBRECARREGADO");
+        response.put("status", ex.getStatus().value());
+        long segundos = Math.max(1, (long) Math.ceil(ex.getRetryAfter().toMillis() / 1000.0));
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(segundos))
+                .body(response);
+    }
+
+    @ExceptionHandler({BlobTooLargeException.class, MaxUploadSizeExceededException.class})
+    public ResponseEntity<Map<String, Object>> handleArquivoGrande(RuntimeException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("erro", "Arquivo excede o tamanho máximo permitido.");
+        response.put("tipo", "ARQUIVO_GRANDE");
+        response.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+    }
+
+    // Outra requisição alterou o mesmo registro (ex.: @Version de Idoso) entre a leitura e a gravação
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConflitoConcorrente(OptimisticLockingFailureException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("erro", "O registro foi alterado por outra operação. Recarregue e tente novamente.");
+        response.put("tipo", "CONFLITO_CONCORRENTE");
+        response.put("status", HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException ex) {
         Map<String, Object> response = new HashMap<>();
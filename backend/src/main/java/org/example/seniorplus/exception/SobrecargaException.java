@@ -0,0 +1,39 @@
+package org.example.seniorplus.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Requisição recusada por limite de taxa (429) ou por falta de capacidade (503),
+ * com a sugestão de espera devolvida no cabeçalho Retry-After.
+ */
+public class SobrecargaException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public SobrecargaException(HttpStatus status, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public static SobrecargaException limiteExcedido(Duration retryAfter) {
+        return new SobrecargaException(HttpStatus.TOO_MANY_REQUESTS,
+                "Muitas tentativas. Aguarde um instante e tente novamente.", retryAfter);
+    }
+
+    public static SobrecargaException indisponivel(Duration retryAfter) {
+        return new SobrecargaException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Serviço temporariamente sobrecarregado. Tente novamente em instantes.", retryAfter);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
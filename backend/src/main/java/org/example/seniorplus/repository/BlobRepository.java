@@ -0,0 +1,49 @@
+package org.example.seniorplus.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.seniorplus.domain.Blob;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface BlobRepository extends JpaRepository<Blob, String> {
+
+    // O próprio CPF mais os idosos vinculados a ele como cuidador
+    String CPFS_ACESSIVEIS = "SELECT :cpf AS cpf UNION SELECT cpf FROM idosos WHERE cuidador_cpf = :cpf";
+
+    // Uploads repetidos do mesmo conteúdo não geram erro nem linha nova
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "blobs"))
+    @Query(value = "INSERT IGNORE INTO blobs (hash, content_type, tamanho, created_at, updated_at) "
+            + "VALUES (:hash, :contentType, :tamanho, NOW(), NOW())",
+            nativeQuery = true)
+    int inserirSeAusente(@Param("hash") String hash,
+                         @Param("contentType") String contentType,
+                         @Param("tamanho") long tamanho);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO blob_acessos (hash, usuario_id, created_at) VALUES (:hash, :usuarioId, NOW())",
+            nativeQuery = true)
+    int concederAcesso(@Param("hash") String hash, @Param("usuarioId") Long usuarioId);
+
+    // Leitura permitida a quem enviou o arquivo ou a quem acessa o idoso que o referencia (ele mesmo ou o cuidador)
+    @Query(value = "SELECT EXISTS ("
+            + "SELECT 1 FROM blob_acessos a WHERE a.hash = :hash AND a.usuario_id = :usuarioId "
+            + "UNION ALL SELECT 1 FROM idosos i JOIN (" + CPFS_ACESSIVEIS + ") d ON d.cpf = i.cpf "
+            + "WHERE i.foto_url = :referencia OR i.foto_miniatura_url = :referencia "
+            + "UNION ALL SELECT 1 FROM imagens m JOIN (" + CPFS_ACESSIVEIS + ") d ON d.cpf = m.cpf "
+            + "WHERE :referencia IN (m.url, m.url_avatar, m.url_card, m.url_grande) "
+            + "UNION ALL SELECT 1 FROM consultas c JOIN (" + CPFS_ACESSIVEIS + ") d ON d.cpf = c.cpf "
+            + "WHERE c.img_receita = :referencia "
+            + "UNION ALL SELECT 1 FROM exames_medicos e JOIN (" + CPFS_ACESSIVEIS + ") d ON d.cpf = e.cpf "
+            + "WHERE e.anexos LIKE CONCAT('%', :referencia, '%'))",
+            nativeQuery = true)
+    Long podeLer(@Param("hash") String hash,
+                 @Param("referencia") String referencia,
+                 @Param("usuarioId") Long usuarioId,
+                 @Param("cpf") String cpf);
+
+}
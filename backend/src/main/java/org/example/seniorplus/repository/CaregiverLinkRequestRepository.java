@@ -1,16 +1,70 @@
 package org.example.seniorplus.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.seniorplus.domain.CaregiverLinkRequest;
 import org.example.seniorplus.domain.CaregiverLinkStatus;
+import org.example.seniorplus.dto.CaregiverLinkRequestDto;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface CaregiverLinkRequestRepository extends JpaRepository<CaregiverLinkRequest, Long> {
-    List<CaregiverLinkRequest> findByIdosoCpfAndStatusOrderByCreatedAtDesc(String idosoCpf, CaregiverLinkStatus status);
+    // Listagens: os nomes vêm no mesmo SELECT, sem carregar Idoso (endereços, foto) nem Cuidador por linha
+    @Query("SELECT new org.example.seniorplus.dto.CaregiverLinkRequestDto(r.id, r.idosoCpf, r.cuidadorCpf, c.nome, i.nome, "
+            + "r.status, r.createdAt, r.respondedAt, r.mensagem) "
+            + "FROM CaregiverLinkRequest r "
+            + "LEFT JOIN Cuidador c ON c.cpf = r.cuidadorCpf "
+            + "LEFT JOIN Idoso i ON i.cpf = r.idosoCpf "
+            + "WHERE r.idosoCpf = :idosoCpf AND r.status = :status ORDER BY r.createdAt DESC")
+    List<CaregiverLinkRequestDto> findResumosPorIdosoEStatus(@Param("idosoCpf") String idosoCpf,
+                                                             @Param("status") CaregiverLinkStatus status);
 
-    List<CaregiverLinkRequest> findByCuidadorCpfOrderByCreatedAtDesc(String cuidadorCpf);
+    @Query("SELECT new org.example.seniorplus.dto.CaregiverLinkRequestDto(r.id, r.idosoCpf, r.cuidadorCpf, c.nome, i.nome, "
+            + "r.status, r.createdAt, r.respondedAt, r.mensagem) "
+            + "FROM CaregiverLinkRequest r "
+            + "LEFT JOIN Cuidador c ON c.cpf = r.cuidadorCpf "
+            + "LEFT JOIN Idoso i ON i.cpf = r.idosoCpf "
+            + "WHERE r.cuidadorCpf = :cuidadorCpf ORDER BY r.createdAt DESC")
+    List<CaregiverLinkRequestDto> findResumosPorCuidador(@Param("cuidadorCpf") String cuidadorCpf);
+
+    // Uma única escrita: o índice único em pending_key (V26) transforma o pedido repetido em atualização da mensagem
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "caregiver_link_requests"))
+    @Query(value = "INSERT INTO caregiver_link_requests (idoso_cpf, cuidador_cpf, status, mensagem, created_at, updated_at) "
+            + "VALUES (:idosoCpf, :cuidadorCpf, 'PENDING', :mensagem, :agora, :agora) "
+            + "ON DUPLICATE KEY UPDATE mensagem = :mensagem, updated_at = :agora",
+            nativeQuery = true)
+    int solicitarOuAtualizarPendente(@Param("idosoCpf") String idosoCpf,
+                                     @Param("cuidadorCpf") String cuidadorCpf,
+                                     @Param("mensagem") String mensagem,
+                                     @Param("agora") LocalDateTime agora);
 
     Optional<CaregiverLinkRequest> findTopByIdosoCpfAndCuidadorCpfAndStatus(String idosoCpf, String cuidadorCpf, CaregiverLinkStatus status);
+
+    // Resposta condicional: só vale enquanto a solicitação estiver pendente
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CaregiverLinkRequest r SET r.status = :status, r.respondedAt = :agora, r.updatedAt = :agora "
+            + "WHERE r.id = :id AND r.idosoCpf = :idosoCpf "
+            + "AND r.status = org.example.seniorplus.domain.CaregiverLinkStatus.PENDING")
+    int responderSePendente(@Param("id") Long id,
+                            @Param("idosoCpf") String idosoCpf,
+                            @Param("status") CaregiverLinkStatus status,
+                            @Param("agora") LocalDateTime agora);
+
+    // Recusa, num único UPDATE, as demais solicitações pendentes do idoso
+    @Modifying
+    @Query("UPDATE CaregiverLinkRequest r SET r.status = org.example.seniorplus.domain.CaregiverLinkStatus.REJECTED, "
+            + "r.respondedAt = :agora, r.updatedAt = :agora "
+            + "WHERE r.idosoCpf = :idosoCpf AND r.id <> :aceitaId "
+            + "AND r.status = org.example.seniorplus.domain.CaregiverLinkStatus.PENDING")
+    int recusarOutrasPendentes(@Param("idosoCpf") String idosoCpf,
+                               @Param("aceitaId") Long aceitaId,
+                               @Param("agora") LocalDateTime agora);
 }
@@ -0,0 +1,52 @@
+package org.example.seniorplus.repository;
+
+import org.example.seniorplus.domain.DoseOccurrence;
+import org.example.seniorplus.domain.DoseOccurrenceStatus;
+import org.example.seniorplus.service.notification.DoseDevida;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface DoseOccurrenceRepository extends JpaRepository<DoseOccurrence, Long>, DoseOccurrenceRepositoryCustom {
+
+    @Query("SELECT new org.example.seniorplus.service.notification.DoseDevida(o.id, o.medicamentoId, o.idosoCpf, o.cpfHash, o.dueAt, m.nomeMedicamento, m.instrucoes, "
+            + "m.notificarPorEmail, m.notificarPorApp, m.notificarPorSms) "
+            + "FROM DoseOccurrence o JOIN Medicamento m ON m.id = o.medicamentoId "
+            + "WHERE o.dueAt >= :inicio AND o.dueAt < :fim AND o.status = :status "
+            + "AND MOD(o.cpfHash, :totalShards) IN :shards "
+            + "ORDER BY o.dueAt")
+    List<DoseDevida> findDevidas(@Param("inicio") LocalDateTime inicio,
+                                 @Param("fim") LocalDateTime fim,
+                                 @Param("status") DoseOccurrenceStatus status,
+                                 @Param("totalShards") int totalShards,
+                                 @Param("shards") Collection<Integer> shards);
+
+    List<DoseOccurrence> findByIdosoCpfAndDueAtBetweenOrderByDueAtAsc(String idosoCpf, LocalDateTime inicio, LocalDateTime fim);
+
+    @Modifying
+    @Query("UPDATE DoseOccurrence o SET o.status = :status, o.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE o.medicamentoId = :medicamentoId AND o.dueAt = :dueAt")
+    int atualizarStatus(@Param("medicamentoId") Long medicamentoId,
+                        @Param("dueAt") LocalDateTime dueAt,
+                        @Param("status") DoseOccurrenceStatus status);
+
+    // Não rebaixa uma ocorrência já notificada por outro canal
+    @Modifying
+    @Query("UPDATE DoseOccurrence o SET o.status = :status, o.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE o.medicamentoId = :medicamentoId AND o.dueAt = :dueAt "
+            + "AND o.status = org.example.seniorplus.domain.DoseOccurrenceStatus.PENDING")
+    int atualizarStatusSePendente(@Param("medicamentoId") Long medicamentoId,
+                                  @Param("dueAt") LocalDateTime dueAt,
+                                  @Param("status") DoseOccurrenceStatus status);
+
+    @Modifying
+    @Query("DELETE FROM DoseOccurrence o WHERE o.medicamentoId = :medicamentoId AND o.dueAt >= :apartir AND o.status = :status")
+    int removerFuturas(@Param("medicamentoId") Long medicamentoId,
+                       @Param("apartir") LocalDateTime apartir,
+                       @Param("status") DoseOccurrenceStatus status);
+}
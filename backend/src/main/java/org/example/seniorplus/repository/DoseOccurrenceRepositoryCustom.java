@@ -0,0 +1,10 @@
+package org.example.seniorplus.repository;
+
+import org.example.seniorplus.domain.DoseOccurrence;
+
+import java.util.List;
+
+public interface DoseOccurrenceRepositoryCustom {
+    // Insere em lote ignorando ocorrências já existentes (chave medicamento_id + due_at)
+    int inserirSeAusente(List<DoseOccurrence> ocorrencias);
+}
@@ -0,0 +1,48 @@
+package org.example.seniorplus.repository;
+
+import org.example.seniorplus.domain.DoseOccurrence;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class DoseOccurrenceRepositoryImpl implements DoseOccurrenceRepositoryCustom {
+
+    private static final String INSERT_IGNORE =
+            "INSERT IGNORE INTO dose_occurrences (medicamento_id, idoso_cpf, cpf_hash, due_at, status, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int TAMANHO_LOTE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    DoseOccurrenceRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int inserirSeAusente(List<DoseOccurrence> ocorrencias) {
+        if (ocorrencias.isEmpty()) {
+            return 0;
+        }
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        int[][] resultados = jdbcTemplate.batchUpdate(INSERT_IGNORE, ocorrencias, TAMANHO_LOTE, (ps, ocorrencia) -> {
+            ps.setLong(1, ocorrencia.getMedicamentoId());
+            ps.setString(2, ocorrencia.getIdosoCpf());
+            ps.setInt(3, ocorrencia.getCpfHash());
+            ps.setTimestamp(4, Timestamp.valueOf(ocorrencia.getDueAt()));
+            ps.setString(5, ocorrencia.getStatus().name());
+            ps.setTimestamp(6, agora);
+            ps.setTimestamp(7, agora);
+        });
+        int inseridas = 0;
+        for (int[] lote : resultados) {
+            for (int linhas : lote) {
+                if (linhas > 0) {
+                    inseridas += linhas;
+                }
+            }
+        }
+        return inseridas;
+    }
+}
@@ -1,10 +1,71 @@
 package org.example.seniorplus.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.seniorplus.domain.Idoso;
+import org.example.seniorplus.dto.IdosoResumo;
+import org.example.seniorplus.service.notification.Destinatario;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface IdosoRepository extends JpaRepository<Idoso, String> {
 	List<Idoso> findByCuidadorCpf(String cuidadorCpf);
+
+	// Só os campos de contato: não carrega cuidador, endereços nem a foto
+	@Query("SELECT new org.example.seniorplus.service.notification.Destinatario(i.cpf, i.nome, i.telefone, i.email, i.whatsappApiKey) "
+			+ "FROM Idoso i WHERE i.cpf IN :cpfs")
+	List<Destinatario> findDestinatarios(@Param("cpfs") Collection<String> cpfs);
+
+	// Paginação por cursor na chave primária; a foto inline (data URL) nunca sai do banco aqui
+	@Query("SELECT new org.example.seniorplus.dto.IdosoResumo(i.cpf, i.nome, i.idade, c.nome, "
+			+ "COALESCE(i.fotoMiniaturaUrl, CASE WHEN i.fotoUrl LIKE 'data:%' THEN NULL ELSE i.fotoUrl END), "
+			+ "CASE WHEN i.fotoUrl IS NULL OR i.fotoUrl = '' THEN false ELSE true END) "
+			+ "FROM Idoso i LEFT JOIN i.cuidador c "
+			+ "WHERE (:apos IS NULL OR i.cpf > :apos) ORDER BY i.cpf")
+	List<IdosoResumo> findResumos(@Param("apos") String apos, Limit limite);
+
+	// Migração das fotos inline para o BlobStore: percorre os CPFs em ordem, um lote por vez
+	@Query(value = "SELECT cpf FROM idosos WHERE cpf > :apos AND foto_url LIKE 'data:%' ORDER BY cpf LIMIT :lote",
+			nativeQuery = true)
+	List<String> findCpfsComFotoInline(@Param("apos") String apos, @Param("lote") int lote);
+
+	@Query(value = "SELECT foto_url FROM idosos WHERE cpf = :cpf", nativeQuery = true)
+	String findFotoUrl(@Param("cpf") String cpf);
+
+	// Só troca se a foto ainda for a mesma lida pela migração (o usuário pode ter enviado outra nesse meio tempo)
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idosos"))
+	@Query(value = "UPDATE idosos SET foto_url = :referencia WHERE cpf = :cpf AND SHA2(foto_url, 256) = :hashOriginal",
+			nativeQuery = true)
+	int substituirFotoInline(@Param("cpf") String cpf,
+							 @Param("hashOriginal") String hashOriginal,
+							 @Param("referencia") String referencia);
+
+	// Miniaturas: só grava se a foto ainda for a mesma que originou a variante
+	@Modifying
+	@Query("UPDATE Idoso i SET i.fotoMiniaturaUrl = :miniatura WHERE i.cpf = :cpf AND i.fotoUrl = :fotoUrl")
+	int registrarMiniatura(@Param("cpf") String cpf,
+						   @Param("fotoUrl") String fotoUrl,
+						   @Param("miniatura") String miniatura);
+
+	@Query(value = "SELECT cpf FROM idosos WHERE cpf > :apos AND foto_miniatura_url IS NULL "
+			+ "AND foto_url LIKE '/api/v1/blobs/%' ORDER BY cpf LIMIT :lote", nativeQuery = true)
+	List<String> findCpfsSemMiniatura(@Param("apos") String apos, @Param("lote") int lote);
+
+	// Aceite de vínculo: só um cuidador vence, pois a linha só é alterada enquanto o idoso não tem cuidador
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idosos"))
+	@Query(value = "UPDATE idosos SET cuidador_cpf = :cuidadorCpf, version = version + 1, updated_at = :agora "
+			+ "WHERE cpf = :cpf AND cuidador_cpf IS NULL", nativeQuery = true)
+	int vincularCuidadorSeLivre(@Param("cpf") String cpf,
+								@Param("cuidadorCpf") String cuidadorCpf,
+								@Param("agora") LocalDateTime agora);
 }
@@ -1,10 +1,29 @@
 package org.example.seniorplus.repository;
 
 import org.example.seniorplus.domain.Imagem;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ImagemRepository extends JpaRepository<Imagem, Long> {
     List<Imagem> findAllByCpf(String cpf);
+
+    // Só grava se a imagem ainda aponta para o arquivo que originou as variantes
+    @Modifying
+    @Query("UPDATE Imagem i SET i.urlAvatar = :avatar, i.urlCard = :card, i.urlGrande = :grande "
+            + "WHERE i.id = :id AND i.url = :url")
+    int registrarVariantes(@Param("id") Long id,
+                           @Param("url") String url,
+                           @Param("avatar") String avatar,
+                           @Param("card") String card,
+                           @Param("grande") String grande);
+
+    // Paginação por cursor no id: um item que nunca gera variantes não trava a fila dos seguintes
+    @Query("SELECT i FROM Imagem i WHERE i.id > :apos AND i.urlAvatar IS NULL AND i.url LIKE '/api/v1/blobs/%' "
+            + "ORDER BY i.id")
+    List<Imagem> findSemVariantes(@Param("apos") Long apos, Limit limite);
 }
@@ -2,9 +2,13 @@ package org.example.seniorplus.repository;
 
 import org.example.seniorplus.domain.Medicamento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface MedicamentoRepository extends JpaRepository<Medicamento, Long> {
 	List<Medicamento> findByCpfOrderByNomeMedicamentoAsc(String cpf);
+
+	@Query("SELECT DISTINCT m FROM Medicamento m LEFT JOIN FETCH m.horarios")
+	List<Medicamento> findAllComHorarios();
 }
@@ -0,0 +1,7 @@
+package org.example.seniorplus.repository;
+
+import org.example.seniorplus.domain.NotificationDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NotificationDeadLetterRepository extends JpaRepository<NotificationDeadLetter, Long> {
+}
@@ -0,0 +1,53 @@
+package org.example.seniorplus.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.seniorplus.domain.NotificationDelivery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, Long> {
+
+    // Retorna 1 quando a entrega foi reivindicada agora e 0 quando já existia
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_deliveries"))
+    @Query(value = "INSERT IGNORE INTO notification_deliveries "
+            + "(medicamento_id, dose_at, channel, destino, status, tentativas, claimed_at, created_at, updated_at) "
+            + "VALUES (:medicamentoId, :doseAt, :channel, :destino, 'PENDING', 0, NOW(3), NOW(), NOW())",
+            nativeQuery = true)
+    int inserirSeAusente(@Param("medicamentoId") Long medicamentoId,
+                         @Param("doseAt") LocalDateTime doseAt,
+                         @Param("channel") String channel,
+                         @Param("destino") String destino);
+
+    // Retoma uma entrega PENDING cujo dono sumiu (reivindicada há mais tempo que o limite)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_deliveries"))
+    @Query(value = "UPDATE notification_deliveries SET claimed_at = NOW(3), destino = :destino, updated_at = NOW() "
+            + "WHERE medicamento_id = :medicamentoId AND dose_at = :doseAt AND channel = :channel "
+            + "AND status = 'PENDING' AND claimed_at < TIMESTAMPADD(MICROSECOND, -:limiteMicros, NOW(3))",
+            nativeQuery = true)
+    int retomarAbandonada(@Param("medicamentoId") Long medicamentoId,
+                          @Param("doseAt") LocalDateTime doseAt,
+                          @Param("channel") String channel,
+                          @Param("destino") String destino,
+                          @Param("limiteMicros") long limiteMicros);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_deliveries"))
+    @Query(value = "UPDATE notification_deliveries SET status = :status, tentativas = :tentativas, erro = :erro, "
+            + "sent_at = CASE WHEN :status = 'SENT' THEN NOW(3) ELSE sent_at END, updated_at = NOW() "
+            + "WHERE medicamento_id = :medicamentoId AND dose_at = :doseAt AND channel = :channel AND status = 'PENDING'",
+            nativeQuery = true)
+    int concluir(@Param("medicamentoId") Long medicamentoId,
+                 @Param("doseAt") LocalDateTime doseAt,
+                 @Param("channel") String channel,
+                 @Param("status") String status,
+                 @Param("tentativas") int tentativas,
+                 @Param("erro") String erro);
+}
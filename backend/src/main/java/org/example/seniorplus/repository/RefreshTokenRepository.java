@@ -0,0 +1,50 @@
+package org.example.seniorplus.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.seniorplus.domain.RefreshToken;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    List<RefreshToken> findByFamiliaAndAccessExpiresAtAfter(String familia, LocalDateTime agora);
+
+    List<RefreshToken> findByUsuarioIdAndAccessExpiresAtAfter(Long usuarioId, LocalDateTime agora);
+
+    // Retorna 0 se outro pedido já rotacionou este token (reuso)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "UPDATE refresh_tokens SET revoked_at = NOW(3), updated_at = NOW() "
+            + "WHERE id = :id AND revoked_at IS NULL",
+            nativeQuery = true)
+    int revogarSeAtivo(@Param("id") Long id);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "UPDATE refresh_tokens SET revoked_at = NOW(3), updated_at = NOW() "
+            + "WHERE familia = :familia AND revoked_at IS NULL",
+            nativeQuery = true)
+    int revogarFamilia(@Param("familia") String familia);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "UPDATE refresh_tokens SET revoked_at = NOW(3), updated_at = NOW() "
+            + "WHERE usuario_id = :usuarioId AND revoked_at IS NULL",
+            nativeQuery = true)
+    int revogarDoUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "DELETE FROM refresh_tokens WHERE expires_at < :limite", nativeQuery = true)
+    int removerExpirados(@Param("limite") LocalDateTime limite);
+}
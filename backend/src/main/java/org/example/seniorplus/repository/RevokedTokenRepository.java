@@ -0,0 +1,32 @@
+package org.example.seniorplus.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.seniorplus.domain.RevokedToken;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revoked_tokens"))
+    @Query(value = "INSERT IGNORE INTO revoked_tokens (jti, expires_at, revoked_at) "
+            + "VALUES (:jti, :expiresAt, NOW(3))",
+            nativeQuery = true)
+    int inserirSeAusente(@Param("jti") String jti, @Param("expiresAt") LocalDateTime expiresAt);
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime agora);
+
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime desde, LocalDateTime agora);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revoked_tokens"))
+    @Query(value = "DELETE FROM revoked_tokens WHERE expires_at < :agora", nativeQuery = true)
+    int removerExpirados(@Param("agora") LocalDateTime agora);
+}
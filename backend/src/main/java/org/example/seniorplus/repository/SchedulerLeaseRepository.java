@@ -0,0 +1,79 @@
+package org.example.seniorplus.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.seniorplus.domain.SchedulerLease;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Todas as comparações de expiração usam o relógio do banco para não depender do relógio das réplicas
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, Integer> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "INSERT IGNORE INTO scheduler_leases (shard, created_at, updated_at) VALUES (:shard, NOW(), NOW())",
+            nativeQuery = true)
+    int criarSeAusente(@Param("shard") int shard);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "UPDATE scheduler_leases SET expires_at = TIMESTAMPADD(MICROSECOND, :duracaoMicros, NOW(3)), updated_at = NOW() "
+            + "WHERE owner = :owner AND expires_at > NOW(3) AND shard < :totalShards",
+            nativeQuery = true)
+    int renovar(@Param("owner") String owner,
+                @Param("duracaoMicros") long duracaoMicros,
+                @Param("totalShards") int totalShards);
+
+    // Compare-and-set: só toma o shard se ele estiver livre ou com a concessão vencida
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "UPDATE scheduler_leases SET owner = :owner, expires_at = TIMESTAMPADD(MICROSECOND, :duracaoMicros, NOW(3)), updated_at = NOW() "
+            + "WHERE shard = :shard AND (owner IS NULL OR expires_at IS NULL OR expires_at <= NOW(3))",
+            nativeQuery = true)
+    int reivindicar(@Param("shard") int shard,
+                    @Param("owner") String owner,
+                    @Param("duracaoMicros") long duracaoMicros);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "UPDATE scheduler_leases SET owner = NULL, expires_at = NULL, updated_at = NOW() "
+            + "WHERE shard = :shard AND owner = :owner",
+            nativeQuery = true)
+    int liberar(@Param("shard") int shard, @Param("owner") String owner);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "UPDATE scheduler_leases SET owner = NULL, expires_at = NULL, updated_at = NOW() WHERE owner = :owner",
+            nativeQuery = true)
+    int liberarTodos(@Param("owner") String owner);
+
+    @Query(value = "SELECT shard FROM scheduler_leases WHERE owner = :owner AND expires_at > NOW(3) AND shard < :totalShards ORDER BY shard",
+            nativeQuery = true)
+    List<Integer> findShardsAtivos(@Param("owner") String owner, @Param("totalShards") int totalShards);
+
+    @Query(value = "SELECT shard FROM scheduler_leases WHERE (owner IS NULL OR expires_at IS NULL OR expires_at <= NOW(3)) "
+            + "AND shard < :totalShards ORDER BY shard",
+            nativeQuery = true)
+    List<Integer> findShardsLivres(@Param("totalShards") int totalShards);
+
+    @Query(value = "SELECT COUNT(DISTINCT owner) FROM scheduler_leases WHERE owner IS NOT NULL AND expires_at > NOW(3)",
+            nativeQuery = true)
+    long countDonosAtivos();
+
+    // Só o dono atual avança a marca, e nunca para trás
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "UPDATE scheduler_leases SET high_water_mark = :marca, updated_at = NOW() "
+            + "WHERE shard IN (:shards) AND owner = :owner AND (high_water_mark IS NULL OR high_water_mark < :marca)",
+            nativeQuery = true)
+    int avancarMarca(@Param("shards") Collection<Integer> shards,
+                     @Param("owner") String owner,
+                     @Param("marca") LocalDateTime marca);
+}
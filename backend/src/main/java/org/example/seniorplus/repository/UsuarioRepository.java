@@ -2,14 +2,20 @@ package org.example.seniorplus.repository;
 
 import org.example.seniorplus.domain.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+    // Sem cache de segundo nível: o login confere a senha, que precisa vir sempre do banco
     Optional<Usuario> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByCpf(String cpf);
     Optional<Usuario> findByCpf(String cpf);
+
+    @Query("SELECT u.tokenVersion FROM Usuario u WHERE u.id = :id")
+    Optional<Integer> findTokenVersion(@Param("id") Long id);
 } 
\ No newline at end of file
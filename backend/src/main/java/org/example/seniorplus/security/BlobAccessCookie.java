@@ -0,0 +1,61 @@
+package org.example.seniorplus.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cópia do access token num cookie HttpOnly restrito a /api/v1/blobs. Fotos e anexos são
+ * exibidos com {@code <img src>}, que não envia o cabeçalho Authorization; o cookie só é
+ * aceito em GETs desse caminho, e o restante da API continua exigindo o Bearer.
+ */
+@Component
+public class BlobAccessCookie {
+
+    public static final String NOME = "seniorplus_arquivos";
+    private static final String CAMINHO = "/api/v1/blobs";
+
+    private final Duration validade;
+
+    public BlobAccessCookie(@Value("${jwt.expiration-minutes:1440}") long expiracaoMinutos) {
+        this.validade = Duration.ofMinutes(expiracaoMinutos);
+    }
+
+    public ResponseCookie emitir(String accessToken, HttpServletRequest request) {
+        return base(accessToken, request).maxAge(validade).build();
+    }
+
+    public ResponseCookie remover(HttpServletRequest request) {
+        return base("", request).maxAge(Duration.ZERO).build();
+    }
+
+    // Null fora de GET /api/v1/blobs/**: nas demais rotas o cookie é ignorado
+    static String extrair(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !request.getRequestURI().startsWith(CAMINHO + "/")) {
+            return null;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (NOME.equals(cookie.getName()) && !cookie.getValue().isBlank()) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static ResponseCookie.ResponseCookieBuilder base(String valor, HttpServletRequest request) {
+        return ResponseCookie.from(NOME, valor)
+                .path(CAMINHO)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Strict");
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.seniorplus.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings, dimensionado para {@code capacidade} elementos com a taxa de
+ * falso positivo pedida. Leituras não bloqueiam; adições concorrentes são seguras.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int totalBits;
+    private final int funcoes;
+
+    BloomFilter(int capacidade, double falsoPositivo) {
+        int n = Math.max(1, capacidade);
+        double m = -n * Math.log(falsoPositivo) / (Math.log(2) * Math.log(2));
+        this.totalBits = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, Math.ceil(m)));
+        this.funcoes = Math.max(1, (int) Math.round((double) totalBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((totalBits + 63) >>> 6);
+    }
+
+    void adicionar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < funcoes; i++) {
+            int bit = indice(h1 + i * h2);
+            int palavra = bit >>> 6;
+            long mascara = 1L << (bit & 63);
+            long atual;
+            do {
+                atual = bits.get(palavra);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    boolean talvezContenha(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < funcoes; i++) {
+            int bit = indice(h1 + i * h2);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indice(int combinado) {
+        return (combinado & Integer.MAX_VALUE) % totalBits;
+    }
+
+    // FNV-1a de 64 bits seguido de um misturador final; as duas metades servem de h1 e h2
+    private static long hash64(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.seniorplus.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injeta o usuário autenticado ({@link UsuarioAutenticado}) em parâmetros de controllers,
+ * reaproveitando o que o filtro JWT já carregou em vez de consultar usuarios de novo.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+
+    // Se false, o parâmetro recebe null quando não há usuário autenticado
+    boolean required() default true;
+}
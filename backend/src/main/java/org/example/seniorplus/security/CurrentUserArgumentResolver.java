@@ -0,0 +1,77 @@
+package org.example.seniorplus.security;
+
+import org.example.seniorplus.domain.Usuario;
+import org.example.seniorplus.repository.UsuarioRepository;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Resolve parâmetros {@link CurrentUser} a partir da autenticação da requisição: usa o principal
+ * montado dos claims (modo stateless) ou o Usuario carregado pelo filtro. Só consulta o banco se o
+ * principal for de outro tipo, e o resultado fica guardado na requisição.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATRIBUTO = CurrentUserArgumentResolver.class.getName() + ".usuario";
+
+    private final UsuarioRepository usuarioRepository;
+
+    public CurrentUserArgumentResolver(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && UsuarioAutenticado.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        UsuarioAutenticado usuario = (UsuarioAutenticado) webRequest.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST);
+        if (usuario == null) {
+            usuario = resolver(SecurityContextHolder.getContext().getAuthentication());
+            if (usuario != null) {
+                webRequest.setAttribute(ATRIBUTO, usuario, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+
+        CurrentUser anotacao = parameter.getParameterAnnotation(CurrentUser.class);
+        if (usuario == null && anotacao != null && anotacao.required()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário não autenticado.");
+        }
+        return usuario;
+    }
+
+    private UsuarioAutenticado resolver(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UsuarioAutenticado autenticado) {
+            return autenticado;
+        }
+        if (principal instanceof Usuario entidade) {
+            return UsuarioAutenticado.de(entidade);
+        }
+
+        // Principal de outro tipo (ex.: autenticação fora do filtro JWT): último recurso é o banco
+        return usuarioRepository.findByEmail(authentication.getName())
+                .map(UsuarioAutenticado::de)
+                .orElse(null);
+    }
+}
@@ -1,10 +1,13 @@
 package org.example.seniorplus.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,6 +25,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersionCache;
+    private final TokenRevocationList revocationList;
+
+    // Modo sem estado: o principal vem dos claims e o banco só é lido quando a versão sai do cache
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -33,18 +42,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String jwt;
         final String userEmail;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
+        final Claims claims;
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            jwt = authHeader.substring(7);
+            // Uma única verificação de assinatura por requisição (ou nenhuma, se o token estiver no cache)
+            claims = jwtService.parseAndVerify(jwt);
+        } else {
+            // Sem cabeçalho: só GET /api/v1/blobs/** aceita o token do cookie (usado por <img src>)
+            jwt = BlobAccessCookie.extrair(request);
+            if (jwt == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            try {
+                claims = jwtService.parseAndVerify(jwt);
+            } catch (JwtException e) {
+                // Cookie vencido ou adulterado: segue anônimo e a rota responde 401/403
+                filterChain.doFilter(request, response);
+                return;
+            }
+        }
+        userEmail = claims.getSubject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            // Consulta só memória: filtro de Bloom e, em caso de acerto, o conjunto exato
+            if (claims.getId() != null && revocationList.isRevogado(claims.getId())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            if (!isVersaoValida(claims)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            UserDetails userDetails = stateless ? jwtService.principalDe(claims) : null;
+            if (userDetails == null) {
+                // Modo padrão, ou token antigo sem uid/ver: carrega o usuário do banco
+                userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            }
             
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (jwtService.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -58,4 +96,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    // Tokens com versão menor que a do usuário foram revogados (ex.: troca de senha)
+    private boolean isVersaoValida(Claims claims) {
+        Long usuarioId = jwtService.extrairUsuarioId(claims);
+        Integer versao = jwtService.extrairVersao(claims);
+        if (usuarioId == null || versao == null) {
+            return true;
+        }
+        return tokenVersionCache.isValida(usuarioId, versao);
+    }
+}
@@ -1,10 +1,15 @@
 package org.example.seniorplus.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
+import org.example.seniorplus.domain.Role;
 import org.example.seniorplus.domain.Usuario;
 import org.example.seniorplus.dto.AuthenticationResponse;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,25 +19,39 @@ import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 @Slf4j
 public class JwtService {
 
+    static final String CLAIM_UID = "uid";
+    static final String CLAIM_VERSAO = "ver";
+
     @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
     private String secretKey;
 
     @Value("${jwt.expiration-minutes:1440}")
     private long jwtExpirationMinutes;
 
+    @Value("${jwt.claims-cache-size:10000}")
+    private long claimsCacheSize;
+
     private Key signingKey;
+    // Parser imutável e thread-safe, construído uma única vez
+    private JwtParser parser;
+    // Claims já verificados, por hash do token; cada entrada expira junto com o token
+    private Cache<String, Claims> claimsCache;
 
     @PostConstruct
     public void init() {
@@ -43,6 +62,33 @@ public class JwtService {
         } else {
             signingKey = Keys.hmacShaKeyFor(keyBytes);
         }
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        Date exp = claims.getExpiration();
+                        if (exp == null) {
+                            return 0;
+                        }
+                        long restanteMs = exp.getTime() - System.currentTimeMillis();
+                        return Math.max(0, restanteMs) * 1_000_000L;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public AuthenticationResponse generateToken(UserDetails userDetails) {
@@ -50,6 +96,8 @@ public class JwtService {
         Map<String, Object> claims = new HashMap<>();
         claims.put("cpf", usuario.getCpf());
         claims.put("roles", List.of(usuario.getRole().name())); // adiciona roles no token
+        claims.put(CLAIM_UID, usuario.getId());
+        claims.put(CLAIM_VERSAO, usuario.getTokenVersion());
         return generateToken(claims, userDetails);
     }
 
@@ -57,24 +105,62 @@ public class JwtService {
         LocalDateTime expirationDateTime = LocalDateTime.now().plusMinutes(jwtExpirationMinutes);
         Date expirationDate = Date.from(expirationDateTime.atZone(ZoneId.systemDefault()).toInstant());
 
+        String tokenId = UUID.randomUUID().toString();
         String token = Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(tokenId)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(expirationDate)
                 .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
 
-        return AuthenticationResponse.of(token, expirationDateTime);
+        return AuthenticationResponse.of(token, expirationDateTime, tokenId);
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(parseAndVerify(token), userDetails);
+    }
+
+    // Valida a partir de claims já verificados, sem parsear o token de novo
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(claims);
+    }
+
+    /**
+     * Monta o principal direto dos claims verificados. Devolve null para tokens emitidos antes
+     * dos claims uid/ver, que seguem pelo caminho com consulta ao banco.
+     */
+    public UsuarioAutenticado principalDe(Claims claims) {
+        Number uid = claims.get(CLAIM_UID, Number.class);
+        List<?> roles = claims.get("roles", List.class);
+        if (uid == null || claims.getSubject() == null || roles == null || roles.isEmpty()
+                || extrairVersao(claims) == null) {
+            return null;
+        }
+        Role role;
+        try {
+            role = Role.valueOf(String.valueOf(roles.get(0)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new UsuarioAutenticado(uid.longValue(), claims.getSubject(), claims.get("cpf", String.class), role);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Integer extrairVersao(Claims claims) {
+        Number versao = claims.get(CLAIM_VERSAO, Number.class);
+        return versao == null ? null : versao.intValue();
+    }
+
+    public Long extrairUsuarioId(Claims claims) {
+        Number uid = claims.get(CLAIM_UID, Number.class);
+        return uid == null ? null : uid.longValue();
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.before(new Date());
     }
 
     private Date extractExpiration(String token) {
@@ -86,14 +172,31 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        return claimsResolver.apply(extractAllClaims(token));
+        return claimsResolver.apply(parseAndVerify(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifica a assinatura e devolve os claims. Tokens já verificados saem do cache sem
+     * nova verificação HMAC; tokens inválidos lançam JwtException e nunca são guardados.
+     */
+    public Claims parseAndVerify(String token) {
+        String chave = hash(token);
+        Claims claims = claimsCache.getIfPresent(chave);
+        if (claims != null) {
+            return claims;
+        }
+        claims = parser.parseClaimsJws(token).getBody();
+        claimsCache.put(chave, claims);
+        return claims;
+    }
+
+    // O cache guarda o hash, não o token em si
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 }
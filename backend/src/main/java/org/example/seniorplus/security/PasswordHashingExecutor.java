@@ -0,0 +1,121 @@
+package org.example.seniorplus.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.seniorplus.config.AuthProtectionProperties;
+import org.example.seniorplus.exception.SobrecargaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executa o BCrypt num pool próprio e limitado, fora das threads do Tomcat. Com a fila cheia
+ * ou a espera acima de auth.protection.hashing-wait-timeout a requisição falha rápido com 503,
+ * em vez de segurar threads que atendem as demais rotas.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final Duration espera;
+    private final ThreadPoolExecutor executor;
+    private final Timer latenciaEncode;
+    private final Timer latenciaMatches;
+    private final Counter rejeitados;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   AuthProtectionProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.espera = properties.getHashingWaitTimeout();
+        int threads = Math.max(1, properties.getHashingThreads());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bcrypt-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getHashingQueueCapacity())),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Operações de hash aguardando uma thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        // Inclui o tempo na fila: é o que o usuário percebe
+        this.latenciaEncode = Timer.builder("auth.password.hashing")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.latenciaMatches = Timer.builder("auth.password.hashing")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejeitados = meterRegistry.counter("auth.password.hashing.rejected");
+    }
+
+    public String encode(CharSequence senha) {
+        return executar(() -> passwordEncoder.encode(senha), latenciaEncode);
+    }
+
+    public boolean matches(CharSequence senha, String hash) {
+        return executar(() -> passwordEncoder.matches(senha, hash), latenciaMatches);
+    }
+
+    private <T> T executar(Callable<T> tarefa, Timer timer) {
+        long inicio = System.nanoTime();
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            rejeitados.increment();
+            throw SobrecargaException.indisponivel(espera);
+        }
+        try {
+            return futuro.get(espera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            rejeitados.increment();
+            throw SobrecargaException.indisponivel(espera);
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(causa);
+        } finally {
+            timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Pool de hash de senhas encerrado");
+    }
+}
@@ -37,6 +37,7 @@ public class SecurityConfig {
                     .requestMatchers("/api/v1/auth/**").permitAll()
                     .requestMatchers("/api/v1/public/**").permitAll()
                     .requestMatchers("/api/v1/reset-senha/**").permitAll()
+                    // /api/v1/blobs/* serve fotos e anexos de saúde: exige autenticação (Bearer ou cookie de arquivos)
 
                     // Rotas públicas necessárias para o Swagger funcionar
                     .requestMatchers(
@@ -0,0 +1,110 @@
+package org.example.seniorplus.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.seniorplus.domain.RevokedToken;
+import org.example.seniorplus.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista em memória dos access tokens revogados antes de expirar, consultada a cada requisição.
+ * O filtro de Bloom responde "não revogado" sem tocar no mapa na quase totalidade dos casos;
+ * o mapa exato (jti -> expiração) desfaz os falsos positivos. Como os access tokens duram
+ * poucos minutos, o mapa só guarda revogações recentes. As réplicas se mantêm em dia lendo
+ * periodicamente as linhas novas de revoked_tokens.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+    private static final double FALSO_POSITIVO = 0.01;
+    // Relê um pouco antes da última marca para não perder linhas confirmadas fora de ordem
+    private static final long SOBREPOSICAO_SEGUNDOS = 60;
+
+    private final RevokedTokenRepository repository;
+    private final int capacidadeEsperada;
+    private final Map<String, LocalDateTime> revogados = new ConcurrentHashMap<>();
+    private volatile BloomFilter filtro;
+    private LocalDateTime ultimaLeitura;
+
+    public TokenRevocationList(RevokedTokenRepository repository,
+                               MeterRegistry meterRegistry,
+                               @Value("${jwt.revocation.expected-entries:10000}") int capacidadeEsperada) {
+        this.repository = repository;
+        this.capacidadeEsperada = capacidadeEsperada;
+        this.filtro = new BloomFilter(capacidadeEsperada, FALSO_POSITIVO);
+        Gauge.builder("auth.revoked.tokens", revogados, Map::size)
+                .description("Access tokens revogados mantidos em memória")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevogado(String jti) {
+        return filtro.talvezContenha(jti) && revogados.containsKey(jti);
+    }
+
+    // Grava na tabela compartilhada e já vale nesta réplica; as demais veem no próximo polling
+    @Transactional
+    public void revogar(String jti, LocalDateTime expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.isBefore(LocalDateTime.now())) {
+            return;
+        }
+        repository.inserirSeAusente(jti, expiresAt);
+        adicionar(jti, expiresAt);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval:PT5S}")
+    public void sincronizar() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<RevokedToken> novos;
+        try {
+            novos = ultimaLeitura == null
+                    ? repository.findByExpiresAtAfter(agora)
+                    : repository.findByRevokedAtAfterAndExpiresAtAfter(ultimaLeitura.minusSeconds(SOBREPOSICAO_SEGUNDOS), agora);
+        } catch (Exception e) {
+            logger.warn("Falha ao sincronizar tokens revogados: {}", e.getMessage());
+            return;
+        }
+        for (RevokedToken token : novos) {
+            adicionar(token.getJti(), token.getExpiresAt());
+            if (ultimaLeitura == null || token.getRevokedAt().isAfter(ultimaLeitura)) {
+                ultimaLeitura = token.getRevokedAt();
+            }
+        }
+        if (ultimaLeitura == null) {
+            ultimaLeitura = agora.minusSeconds(SOBREPOSICAO_SEGUNDOS);
+        }
+    }
+
+    // Descarta revogações de tokens já expirados e reconstrói o filtro sem elas
+    @Scheduled(fixedDelayString = "${jwt.revocation.cleanup-interval:PT1H}",
+            initialDelayString = "${jwt.revocation.cleanup-interval:PT1H}")
+    @Transactional
+    public void limpar() {
+        LocalDateTime agora = LocalDateTime.now();
+        synchronized (this) {
+            revogados.values().removeIf(expiracao -> expiracao.isBefore(agora));
+            BloomFilter novo = new BloomFilter(Math.max(capacidadeEsperada, revogados.size() * 2), FALSO_POSITIVO);
+            revogados.keySet().forEach(novo::adicionar);
+            filtro = novo;
+        }
+        int removidos = repository.removerExpirados(agora);
+        if (removidos > 0) {
+            logger.debug("{} tokens revogados expirados removidos", removidos);
+        }
+    }
+
+    private synchronized void adicionar(String jti, LocalDateTime expiresAt) {
+        revogados.put(jti, expiresAt);
+        filtro.adicionar(jti);
+    }
+}
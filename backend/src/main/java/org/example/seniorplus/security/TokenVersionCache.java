@@ -0,0 +1,61 @@
+package org.example.seniorplus.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.example.seniorplus.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Versão atual dos tokens de cada usuário, lida de usuarios.token_version e mantida em memória.
+ * Uma troca de senha invalida a entrada local; outras réplicas enxergam a nova versão
+ * quando a entrada expira (jwt.version-cache-ttl).
+ */
+@Component
+public class TokenVersionCache {
+
+    // Usuário inexistente: nenhum token pode ter esta versão
+    static final int SEM_USUARIO = -1;
+
+    private final LoadingCache<Long, Integer> versoes;
+
+    public TokenVersionCache(UsuarioRepository usuarioRepository,
+                             @Value("${jwt.version-cache-ttl:1m}") Duration ttl,
+                             @Value("${jwt.version-cache-size:10000}") long tamanho) {
+        this.versoes = Caffeine.newBuilder()
+                .maximumSize(tamanho)
+                .expireAfterWrite(ttl)
+                .build(id -> {
+                    Optional<Integer> versao = usuarioRepository.findTokenVersion(id);
+                    return versao.orElse(SEM_USUARIO);
+                });
+    }
+
+    public int atual(Long usuarioId) {
+        return versoes.get(usuarioId);
+    }
+
+    public boolean isValida(Long usuarioId, int versaoDoToken) {
+        int atual = atual(usuarioId);
+        return atual != SEM_USUARIO && atual == versaoDoToken;
+    }
+
+    // Dentro de uma transação, só invalida após o commit para não recarregar a versão antiga
+    public void invalidar(Long usuarioId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versoes.invalidate(usuarioId);
+                }
+            });
+            return;
+        }
+        versoes.invalidate(usuarioId);
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.seniorplus.security;
+
+import org.example.seniorplus.domain.Role;
+import org.example.seniorplus.domain.Usuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Usuário autenticado da requisição. No modo jwt.stateless é montado a partir dos claims do
+ * JWT verificado, sem consultar a tabela usuarios; é também o tipo recebido pelos parâmetros
+ * {@link CurrentUser}. getUsername() devolve o e-mail, então Principal.getName() continua funcionando.
+ */
+public class UsuarioAutenticado implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String cpf;
+    private final Role role;
+
+    public UsuarioAutenticado(Long id, String email, String cpf, Role role) {
+        this.id = Objects.requireNonNull(id, "id");
+        this.email = Objects.requireNonNull(email, "email");
+        this.cpf = cpf;
+        this.role = Objects.requireNonNull(role, "role");
+    }
+
+    public static UsuarioAutenticado de(Usuario usuario) {
+        return new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), usuario.getCpf(), usuario.getRole());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    // A senha nunca sai do banco neste modo
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "UsuarioAutenticado{id=" + id + ", email=" + email + ", role=" + role + "}";
+    }
+}
@@ -2,6 +2,7 @@ package org.example.seniorplus.service;
 
 import org.example.seniorplus.domain.CaregiverLinkRequest;
 import org.example.seniorplus.domain.CaregiverLinkStatus;
+import org.example.seniorplus.domain.Cpf;
 import org.example.seniorplus.domain.Cuidador;
 import org.example.seniorplus.domain.Idoso;
 import org.example.seniorplus.domain.Role;
@@ -11,17 +12,14 @@ import org.example.seniorplus.repository.CaregiverLinkRequestRepository;
 import org.example.seniorplus.repository.CuidadorRepository;
 import org.example.seniorplus.repository.IdosoRepository;
 import org.example.seniorplus.repository.UsuarioRepository;
+import org.example.seniorplus.service.notification.RecipientDirectory;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class CaregiverLinkService {
@@ -31,17 +29,20 @@ public class CaregiverLinkService {
     private final CuidadorRepository cuidadorRepository;
     private final UsuarioRepository usuarioRepository;
     private final IdosoService idosoService;
+    private final RecipientDirectory recipientDirectory;
 
     public CaregiverLinkService(CaregiverLinkRequestRepository requestRepository,
                                 IdosoRepository idosoRepository,
                                 CuidadorRepository cuidadorRepository,
                                 UsuarioRepository usuarioRepository,
-                                IdosoService idosoService) {
+                                IdosoService idosoService,
+                                RecipientDirectory recipientDirectory) {
         this.requestRepository = requestRepository;
         this.idosoRepository = idosoRepository;
         this.cuidadorRepository = cuidadorRepository;
         this.usuarioRepository = usuarioRepository;
         this.idosoService = idosoService;
+        this.recipientDirectory = recipientDirectory;
     }
 
     @Transactional
@@ -50,56 +51,48 @@ public class CaregiverLinkService {
             throw new IllegalArgumentException("CPF do idoso e do cuidador são obrigatórios.");
         }
 
-        String cuidadorCpfNormalizado = normalizarCpf(cuidadorCpf);
-        String idosoCpfNormalizado = normalizarCpf(idosoCpf);
+        String cuidadorCpfNormalizado = Cpf.normalizar(cuidadorCpf);
+        String idosoCpfNormalizado = Cpf.normalizar(idosoCpf);
 
         if (!cpfValido(cuidadorCpfNormalizado) || !cpfValido(idosoCpfNormalizado)) {
             throw new IllegalArgumentException("Informe CPFs válidos com 11 dígitos.");
         }
 
-        Idoso idoso = garantirRegistroIdoso(idosoCpfNormalizado, idosoCpf);
+        Idoso idoso = garantirRegistroIdoso(idosoCpfNormalizado);
 
         if (idoso.getCuidador() != null) {
             throw new IllegalStateException("Este idoso já possui um cuidador vinculado.");
         }
 
-        Cuidador cuidador = garantirRegistroCuidador(cuidadorCpfNormalizado, cuidadorCpf);
+        Cuidador cuidador = garantirRegistroCuidador(cuidadorCpfNormalizado);
 
-        Optional<CaregiverLinkRequest> existente = requestRepository
-                .findTopByIdosoCpfAndCuidadorCpfAndStatus(idoso.getCpf(), cuidador.getCpf(), CaregiverLinkStatus.PENDING);
-        if (existente.isPresent()) {
-            CaregiverLinkRequest atual = existente.get();
-            atual.setMensagem(mensagem);
-            return requestRepository.save(atual);
-        }
-
-        CaregiverLinkRequest request = new CaregiverLinkRequest();
-        request.setIdosoCpf(idoso.getCpf());
-        request.setCuidadorCpf(cuidador.getCpf());
-        request.setMensagem(mensagem);
-        request.setStatus(CaregiverLinkStatus.PENDING);
-        return requestRepository.save(request);
+        // Cliques repetidos do cuidador caem na mesma linha pendente em vez de criar outra
+        requestRepository.solicitarOuAtualizarPendente(idoso.getCpf(), cuidador.getCpf(), mensagem, LocalDateTime.now());
+        return requestRepository
+                .findTopByIdosoCpfAndCuidadorCpfAndStatus(idoso.getCpf(), cuidador.getCpf(), CaregiverLinkStatus.PENDING)
+                .orElseThrow(() -> new IllegalStateException("A solicitação foi respondida enquanto era registrada."));
     }
 
     @Transactional(readOnly = true)
     public List<CaregiverLinkRequestDto> listarPendentesParaIdoso(String idosoCpf) {
-        return buscarSolicitacoesPorIdosoEStatus(idosoCpf, CaregiverLinkStatus.PENDING)
-                .stream()
-                .map(this::mapearDto)
-                .collect(Collectors.toList());
+        if (idosoCpf == null || idosoCpf.isBlank()) {
+            return List.of();
+        }
+        return requestRepository.findResumosPorIdosoEStatus(Cpf.normalizar(idosoCpf), CaregiverLinkStatus.PENDING);
     }
 
     @Transactional(readOnly = true)
     public List<CaregiverLinkRequestDto> listarSolicitacoesDoCuidador(String cuidadorCpf) {
-        return buscarSolicitacoesParaCuidador(cuidadorCpf)
-                .stream()
-                .map(this::mapearDto)
-                .collect(Collectors.toList());
+        if (cuidadorCpf == null || cuidadorCpf.isBlank()) {
+            return List.of();
+        }
+        return requestRepository.findResumosPorCuidador(Cpf.normalizar(cuidadorCpf));
     }
 
+    // Tudo em UPDATEs condicionais: entre aceites simultâneos para o mesmo idoso, só um altera a linha em idosos
     @Transactional
     public CaregiverLinkRequest responderSolicitacao(Long id, String idosoCpf, boolean aceitar) {
-    CaregiverLinkRequest request = requestRepository.findById(id)
+        CaregiverLinkRequest request = requestRepository.findById(id)
                 .orElseThrow(() -> new EmptyResultDataAccessException("Solicitação não encontrada", 1));
 
         if (!CaregiverLinkStatus.PENDING.equals(request.getStatus())) {
@@ -110,27 +103,27 @@ public class CaregiverLinkService {
             throw new IllegalStateException("Esta solicitação não pertence ao idoso informado.");
         }
 
-        if (aceitar) {
-            idosoService.atribuirCuidador(idosoCpf, request.getCuidadorCpf());
-            request.setStatus(CaregiverLinkStatus.ACCEPTED);
-            cancelarOutrasSolicitacoesPendentes(idosoCpf, request.getId());
-        } else {
-            request.setStatus(CaregiverLinkStatus.REJECTED);
+        LocalDateTime agora = LocalDateTime.now();
+        CaregiverLinkStatus novoStatus = aceitar ? CaregiverLinkStatus.ACCEPTED : CaregiverLinkStatus.REJECTED;
+
+        // O idoso vem antes da solicitação: aceites concorrentes esperam pela mesma linha e não se cruzam
+        if (aceitar && idosoRepository.vincularCuidadorSeLivre(idosoCpf, request.getCuidadorCpf(), agora) == 0) {
+            throw new IllegalStateException("Este idoso já possui um cuidador vinculado.");
         }
 
-        request.setRespondedAt(LocalDateTime.now());
-        return requestRepository.save(request);
-    }
+        if (requestRepository.responderSePendente(id, idosoCpf, novoStatus, agora) == 0) {
+            throw new IllegalStateException("A solicitação já foi respondida.");
+        }
 
-    private void cancelarOutrasSolicitacoesPendentes(String idosoCpf, Long solicitacaoAceitaId) {
-        List<CaregiverLinkRequest> pendentes = buscarSolicitacoesPorIdosoEStatus(idosoCpf, CaregiverLinkStatus.PENDING);
-        for (CaregiverLinkRequest solicitacao : pendentes) {
-            if (!solicitacao.getId().equals(solicitacaoAceitaId)) {
-                solicitacao.setStatus(CaregiverLinkStatus.REJECTED);
-                solicitacao.setRespondedAt(LocalDateTime.now());
-                requestRepository.save(solicitacao);
-            }
+        if (aceitar) {
+            requestRepository.recusarOutrasPendentes(idosoCpf, id, agora);
+            // O aceite altera o idoso fora do IdosoService; a entrada em cache não pode sobreviver a ele
+            recipientDirectory.invalidar(idosoCpf);
         }
+
+        request.setStatus(novoStatus);
+        request.setRespondedAt(agora);
+        return request;
     }
 
     @Transactional(readOnly = true)
@@ -155,64 +148,26 @@ public class CaregiverLinkService {
         return dto;
     }
 
-    private String normalizarCpf(String cpf) {
-        if (cpf == null) {
-            return null;
-        }
-        String apenasDigitos = cpf.replaceAll("\\D", "");
-        if (apenasDigitos.length() == 11) {
-            return apenasDigitos;
-        }
-        return cpf.trim();
-    }
-
+    // Depois de Cpf.normalizar, só os CPFs com 11 dígitos voltam sem pontuação
     private boolean cpfValido(String cpf) {
-        return cpf != null && cpf.matches("\\d{11}");
-    }
-
-    private Idoso garantirRegistroIdoso(String cpfNormalizado, String cpfOriginal) {
-        return buscarIdosoPorCpf(cpfNormalizado)
-                .or(() -> buscarIdosoPorCpf(cpfOriginal))
-                .orElseGet(() -> criarIdosoComBaseEmUsuario(cpfNormalizado, cpfOriginal));
-    }
-
-    private Cuidador garantirRegistroCuidador(String cpfNormalizado, String cpfOriginal) {
-        return buscarCuidadorPorCpf(cpfNormalizado)
-                .or(() -> buscarCuidadorPorCpf(cpfOriginal))
-                .orElseGet(() -> criarCuidadorComBaseEmUsuario(cpfNormalizado, cpfOriginal));
-    }
-
-    private Optional<Idoso> buscarIdosoPorCpf(String cpf) {
-        if (cpf == null || cpf.isBlank()) {
-            return Optional.empty();
-        }
-        return idosoRepository.findById(cpf);
+        return cpf != null && cpf.length() == Cpf.TAMANHO && Cpf.parse(cpf) != null;
     }
 
-    private Optional<Cuidador> buscarCuidadorPorCpf(String cpf) {
-        if (cpf == null || cpf.isBlank()) {
-            return Optional.empty();
-        }
-        return cuidadorRepository.findById(cpf);
+    // Desde a V24 todos os CPFs gravados são canônicos: basta consultar pela forma normalizada
+    private Idoso garantirRegistroIdoso(String cpf) {
+        return idosoRepository.findById(cpf)
+                .orElseGet(() -> criarIdosoComBaseEmUsuario(cpf));
     }
 
-    private Optional<Usuario> localizarUsuarioPorCpf(String cpfNormalizado, String cpfOriginal) {
-        if (cpfNormalizado != null && !cpfNormalizado.isBlank()) {
-            Optional<Usuario> encontrado = usuarioRepository.findByCpf(cpfNormalizado);
-            if (encontrado.isPresent()) {
-                return encontrado;
-            }
-        }
-        if (cpfOriginal != null && !cpfOriginal.isBlank() && !cpfOriginal.equals(cpfNormalizado)) {
-            return usuarioRepository.findByCpf(cpfOriginal);
-        }
-        return Optional.empty();
+    private Cuidador garantirRegistroCuidador(String cpf) {
+        return cuidadorRepository.findById(cpf)
+                .orElseGet(() -> criarCuidadorComBaseEmUsuario(cpf));
     }
 
-    private Idoso criarIdosoComBaseEmUsuario(String cpfNormalizado, String cpfOriginal) {
-        Usuario usuario = localizarUsuarioPorCpf(cpfNormalizado, cpfOriginal)
+    private Idoso criarIdosoComBaseEmUsuario(String cpf) {
+        Usuario usuario = usuarioRepository.findByCpf(cpf)
                 .filter(u -> u.getRole() == Role.ROLE_IDOSO)
-                .orElseThrow(() -> new EmptyResultDataAccessException("Idoso não encontrado para CPF " + (cpfOriginal != null ? cpfOriginal : cpfNormalizado), 1));
+                .orElseThrow(() -> new EmptyResultDataAccessException("Idoso não encontrado para CPF " + cpf, 1));
 
         Idoso novo = new Idoso();
         novo.setCpf(usuario.getCpf());
@@ -223,10 +178,10 @@ public class CaregiverLinkService {
         return idosoService.criar(novo);
     }
 
-    private Cuidador criarCuidadorComBaseEmUsuario(String cpfNormalizado, String cpfOriginal) {
-        Usuario usuario = localizarUsuarioPorCpf(cpfNormalizado, cpfOriginal)
+    private Cuidador criarCuidadorComBaseEmUsuario(String cpf) {
+        Usuario usuario = usuarioRepository.findByCpf(cpf)
                 .filter(u -> u.getRole() == Role.ROLE_CUIDADOR)
-                .orElseThrow(() -> new EmptyResultDataAccessException("Cuidador não encontrado para CPF " + (cpfOriginal != null ? cpfOriginal : cpfNormalizado), 1));
+                .orElseThrow(() -> new EmptyResultDataAccessException("Cuidador não encontrado para CPF " + cpf, 1));
 
         Cuidador novo = new Cuidador();
         novo.setCpf(usuario.getCpf());
@@ -236,52 +191,4 @@ public class CaregiverLinkService {
 
         return cuidadorRepository.save(novo);
     }
-
-    private List<CaregiverLinkRequest> buscarSolicitacoesPorIdosoEStatus(String cpf, CaregiverLinkStatus status) {
-        if (cpf == null || cpf.isBlank()) {
-            return List.of();
-        }
-
-        String normalizado = normalizarCpf(cpf);
-        List<CaregiverLinkRequest> principal = requestRepository.findByIdosoCpfAndStatusOrderByCreatedAtDesc(normalizado, status);
-
-        if (normalizado == null || normalizado.isBlank() || normalizado.equals(cpf)) {
-            return principal;
-        }
-
-        List<CaregiverLinkRequest> alternativo = requestRepository.findByIdosoCpfAndStatusOrderByCreatedAtDesc(cpf, status);
-        return combinarSolicitacoes(principal, alternativo);
-    }
-
-    private List<CaregiverLinkRequest> buscarSolicitacoesParaCuidador(String cpf) {
-        if (cpf == null || cpf.isBlank()) {
-            return List.of();
-        }
-
-        String normalizado = normalizarCpf(cpf);
-        List<CaregiverLinkRequest> principal = requestRepository.findByCuidadorCpfOrderByCreatedAtDesc(normalizado);
-
-        if (normalizado == null || normalizado.isBlank() || normalizado.equals(cpf)) {
-            return principal;
-        }
-
-        List<CaregiverLinkRequest> alternativo = requestRepository.findByCuidadorCpfOrderByCreatedAtDesc(cpf);
-        return combinarSolicitacoes(principal, alternativo);
-    }
-
-    private List<CaregiverLinkRequest> combinarSolicitacoes(List<CaregiverLinkRequest> principal,
-                                                            List<CaregiverLinkRequest> alternativo) {
-        Map<Long, CaregiverLinkRequest> agrupado = new LinkedHashMap<>();
-        if (principal != null) {
-            for (CaregiverLinkRequest item : principal) {
-                agrupado.put(item.getId(), item);
-            }
-        }
-        if (alternativo != null) {
-            for (CaregiverLinkRequest item : alternativo) {
-                agrupado.putIfAbsent(item.getId(), item);
-            }
-        }
-        return new ArrayList<>(agrupado.values());
-    }
 }
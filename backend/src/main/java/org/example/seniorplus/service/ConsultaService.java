@@ -2,6 +2,7 @@ package org.example.seniorplus.service;
 
 import org.example.seniorplus.domain.Consulta;
 import org.example.seniorplus.repository.ConsultaRepository;
+import org.example.seniorplus.service.blob.BlobService;
 import org.example.seniorplus.service.exception.ObjectNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -17,6 +18,9 @@ public class ConsultaService {
     @Autowired
     private ConsultaRepository repository;
 
+    @Autowired
+    private BlobService blobService;
+
     public List<Consulta> buscarTodos() {
         try {
             return repository.findAll();
@@ -36,6 +40,8 @@ public class ConsultaService {
 
     public Consulta criar(Consulta obj) {
         try {
+            // A foto da receita vai para o BlobStore; a consulta guarda só a referência
+            obj.setImgReceita(blobService.externalizar(obj.getImgReceita()));
             return repository.save(obj);
         } catch (DataIntegrityViolationException e) {
             throw new RuntimeException("Erro de integridade ao salvar a consulta: " + e.getMessage());
@@ -67,7 +73,7 @@ public class ConsultaService {
             existente.setHora(novaConsulta.getHora());
             existente.setLocal(novaConsulta.getLocal());
             existente.setObservacoes(novaConsulta.getObservacoes());
-            existente.setImgReceita(novaConsulta.getImgReceita());
+            existente.setImgReceita(blobService.externalizar(novaConsulta.getImgReceita()));
 
             // Salvar a consulta atualizada no banco de dados
             return repository.save(existente);
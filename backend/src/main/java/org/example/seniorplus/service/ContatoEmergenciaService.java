@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Objects;
 
 import org.example.seniorplus.domain.ContatoEmergencia;
+import org.example.seniorplus.domain.Cpf;
 import org.example.seniorplus.repository.ContatoEmergenciaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -16,20 +17,22 @@ public class ContatoEmergenciaService {
     private ContatoEmergenciaRepository repository;
 
     public List<ContatoEmergencia> listarPorCpf(String cpf) {
-        return repository.findByIdosoCpfOrderByNomeAsc(normalizarCpf(cpf));
+        Cpf idosoCpf = idosoCpf(cpf);
+        return idosoCpf == null ? List.of() : repository.findByIdosoCpfOrderByNomeAsc(idosoCpf);
     }
 
     @Transactional
     public ContatoEmergencia salvar(String cpf, ContatoEmergencia contato) {
         contato.setId(null);
-        contato.setIdosoCpf(normalizarCpf(cpf));
+        contato.setIdosoCpf(Cpf.of(Objects.requireNonNull(cpf, "CPF não pode ser nulo")));
         return repository.save(contato);
     }
 
     @Transactional
     public ContatoEmergencia atualizar(String cpf, Long id, ContatoEmergencia contato) {
+        Cpf idosoCpf = idosoCpf(cpf);
         ContatoEmergencia existente = repository.findById(id)
-            .filter(c -> normalizarCpf(c.getIdosoCpf()).equals(normalizarCpf(cpf)))
+            .filter(c -> c.getIdosoCpf().equals(idosoCpf))
             .orElseThrow(() -> new IllegalArgumentException("Contato não encontrado"));
 
         existente.setNome(contato.getNome());
@@ -41,15 +44,14 @@ public class ContatoEmergenciaService {
 
     @Transactional
     public void remover(String cpf, Long id) {
-        repository.deleteByIdAndIdosoCpf(id, normalizarCpf(cpf));
+        Cpf idosoCpf = idosoCpf(cpf);
+        if (idosoCpf != null) {
+            repository.deleteByIdAndIdosoCpf(id, idosoCpf);
+        }
     }
 
-    private String normalizarCpf(String cpf) {
-        Objects.requireNonNull(cpf, "CPF não pode ser nulo");
-        String apenasDigitos = cpf.replaceAll("\\D", "");
-        if (apenasDigitos.length() == 11) {
-            return apenasDigitos;
-        }
-        return cpf.trim();
+    // Nas buscas, um CPF sem 11 dígitos não casa com nenhum contato; só a gravação lança exceção
+    private Cpf idosoCpf(String cpf) {
+        return Cpf.parse(Objects.requireNonNull(cpf, "CPF não pode ser nulo"));
     }
 }
@@ -1,18 +1,12 @@
 package org.example.seniorplus.service;
 
 import lombok.RequiredArgsConstructor;
-import org.example.seniorplus.domain.Usuario;
 import org.example.seniorplus.repository.UsuarioRepository;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
@@ -21,17 +15,8 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        // Devolve a própria entidade para que o @CurrentUser não precise buscá-la de novo
+        return usuarioRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + email));
-
-        List<GrantedAuthority> authorities = List.of(
-                new SimpleGrantedAuthority(usuario.getRole().name())
-        );
-
-        return new User(
-                usuario.getEmail(),
-                usuario.getSenha(),
-                authorities
-        );
     }
 }
@@ -32,4 +32,15 @@ public class EmailService {
         
         mailSender.send(message);
     }
-} 
\ No newline at end of file
+
+    public void enviarLembrete(@NonNull String destinatario, @NonNull String assunto, @NonNull String texto) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+
+        helper.setTo(destinatario);
+        helper.setSubject(assunto);
+        helper.setText(texto, false);
+
+        mailSender.send(message);
+    }
+}
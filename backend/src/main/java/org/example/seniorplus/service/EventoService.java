@@ -1,5 +1,6 @@
 package org.example.seniorplus.service;
 
+import org.example.seniorplus.domain.Cpf;
 import org.example.seniorplus.domain.Evento;
 import org.example.seniorplus.domain.Idoso;
 import org.example.seniorplus.repository.EventoRepository;
@@ -95,11 +96,6 @@ public class EventoService {
     }
 
     private String normalizarCpf(String cpf) {
-        Objects.requireNonNull(cpf, "CPF não pode ser nulo");
-        String apenasDigitos = cpf.replaceAll("\\D", "");
-        if (apenasDigitos.length() == 11) {
-            return apenasDigitos;
-        }
-        return cpf.trim();
+        return Cpf.normalizar(Objects.requireNonNull(cpf, "CPF não pode ser nulo"));
     }
 }
\ No newline at end of file
@@ -3,10 +3,12 @@ package org.example.seniorplus.service;
 import org.example.seniorplus.domain.ExameMedico;
 // no-op imports
 import org.example.seniorplus.repository.ExameMedicoRepository;
+import org.example.seniorplus.service.blob.BlobService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class ExameMedicoService {
@@ -14,6 +16,9 @@ public class ExameMedicoService {
     @Autowired
     private ExameMedicoRepository exameMedicoRepository;
 
+    @Autowired
+    private BlobService blobService;
+
     // Método para listar todos os medicamentos
     public List<ExameMedico> listarTodos() {
         return exameMedicoRepository.findAll();
@@ -28,6 +33,7 @@ public class ExameMedicoService {
     // Método para salvar um novo medicamento
     public ExameMedico salvar(ExameMedico exameMedico) {
         try {
+            exameMedico.setAnexos(externalizarAnexos(exameMedico.getAnexos()));
             return exameMedicoRepository.save(exameMedico);
         } catch (Exception e) {
             throw new RuntimeException("Erro ao salvar o medicamento: " + e.getMessage());
@@ -44,6 +50,7 @@ public class ExameMedicoService {
             existente.setDataExame(exameAtualizado.getDataExame());
             existente.setLaboratorio(exameAtualizado.getLaboratorio());
             existente.setObservacoes(exameAtualizado.getObservacoes());
+            existente.setAnexos(externalizarAnexos(exameAtualizado.getAnexos()));
 
             return exameMedicoRepository.save(existente);
         } catch (Exception e) {
@@ -51,6 +58,18 @@ public class ExameMedicoService {
         }
     }
 
+    // Anexos (um por linha) enviados como data URL viram referências ao BlobStore
+    private String externalizarAnexos(String anexos) {
+        if (anexos == null || anexos.isBlank()) {
+            return anexos;
+        }
+        return anexos.lines()
+                .map(String::trim)
+                .filter(linha -> !linha.isEmpty())
+                .map(blobService::externalizar)
+                .collect(Collectors.joining("\n"));
+    }
+
     public void deletar(String cpf) {
         // garante que existe
         buscarPorCpf(cpf);
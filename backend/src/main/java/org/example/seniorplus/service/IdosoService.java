@@ -1,23 +1,41 @@
 package org.example.seniorplus.service;
 
+import org.example.seniorplus.domain.Cpf;
 import org.example.seniorplus.domain.Cuidador;
 import org.example.seniorplus.domain.Idoso;
 import org.example.seniorplus.domain.Role;
 import org.example.seniorplus.domain.Usuario;
+import org.example.seniorplus.dto.IdosoResumo;
+import org.example.seniorplus.dto.IdosoResumoPagina;
 import org.example.seniorplus.repository.IdosoRepository;
 import org.example.seniorplus.repository.CuidadorRepository;
 import org.example.seniorplus.repository.UsuarioRepository;
+import org.example.seniorplus.service.blob.BlobService;
+import org.example.seniorplus.service.blob.ImageVariantPipeline;
 import org.example.seniorplus.service.exception.ObjectNotFoundException;
+import org.example.seniorplus.service.notification.RecipientDirectory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class IdosoService {
 
+    static final int LIMITE_MAXIMO_PAGINA = 200;
+
     @Autowired
     private IdosoRepository repository;
 
@@ -27,12 +45,26 @@ public class IdosoService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
-    public List<Idoso> buscarTodos() {
-        try {
-            return repository.findAll();
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao buscar lista de idosos: " + e.getMessage());
+    @Autowired
+    private RecipientDirectory recipientDirectory;
+
+    @Autowired
+    private BlobService blobService;
+
+    @Autowired
+    private ImageVariantPipeline variantPipeline;
+
+    public IdosoResumoPagina listarResumos(String apos, int limite) {
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+        String cursor = apos == null || apos.isBlank() ? null : apos.trim();
+        // Um item a mais só para saber se existe próxima página
+        List<IdosoResumo> itens = repository.findResumos(cursor, Limit.of(tamanho + 1));
+        String proximo = null;
+        if (itens.size() > tamanho) {
+            itens = new ArrayList<>(itens.subList(0, tamanho));
+            proximo = itens.get(tamanho - 1).getCpf();
         }
+        return new IdosoResumoPagina(itens, proximo);
     }
 
     public List<Idoso> buscarPorCuidadorCpf(String cuidadorCpf) {
@@ -45,7 +77,7 @@ public class IdosoService {
 
     public Idoso buscarPorCpf(String cpf) {
         try {
-            String cpfNormalizado = normalizarCpf(cpf);
+            String cpfNormalizado = Cpf.normalizar(cpf);
             java.util.Objects.requireNonNull(cpfNormalizado, "CPF não pode ser nulo");
             Optional<Idoso> obj = repository.findById(cpfNormalizado);
             return obj.orElseThrow(() -> new ObjectNotFoundException("Usuário não encontrado com CPF: " + cpf));
@@ -61,8 +93,12 @@ public class IdosoService {
                 obj.setCuidador(cuidador);
             }
 
+            obj.setFotoUrl(blobService.externalizar(obj.getFotoUrl()));
+            obj.setFotoMiniaturaUrl(null);
             obj.refreshImc();
-            return repository.save(obj);
+            Idoso salvo = repository.save(obj);
+            variantPipeline.agendarFotoIdoso(salvo.getCpf(), salvo.getFotoUrl());
+            return salvo;
         } catch (DataIntegrityViolationException e) {
             throw new RuntimeException("Erro de integridade ao salvar o idoso: " + e.getMessage());
         } catch (Exception e) {
@@ -73,6 +109,11 @@ public class IdosoService {
     public Idoso atualizar(String cpf, Idoso novoIdoso) {
         try {
             Idoso existente = buscarPorCpf(cpf);
+            // O @Version só cobre a própria transação; a versão que o cliente leu é que evita sobrescrever
+            // uma edição feita por outro cliente depois dessa leitura
+            if (novoIdoso.getVersion() != null && !novoIdoso.getVersion().equals(existente.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Idoso.class, existente.getCpf());
+            }
 
             existente.setNome(novoIdoso.getNome());
             existente.setRg(novoIdoso.getRg());
@@ -86,8 +127,18 @@ public class IdosoService {
             existente.setAltura(novoIdoso.getAltura());
             existente.setTipoSanguineo(novoIdoso.getTipoSanguineo());
             existente.setObservacao(novoIdoso.getObservacao());
+            // Clientes que não conhecem o campo não devem apagar a chave já cadastrada
+            if (novoIdoso.getWhatsappApiKey() != null && !novoIdoso.getWhatsappApiKey().isBlank()) {
+                existente.setWhatsappApiKey(novoIdoso.getWhatsappApiKey().trim());
+            }
             existente.setAlergias(novoIdoso.getAlergias());
-            existente.setFotoUrl(novoIdoso.getFotoUrl());
+            // Clientes antigos ainda mandam a foto como data URL; ela vai para o BlobStore em vez de foto_url
+            String fotoUrl = blobService.externalizar(novoIdoso.getFotoUrl());
+            boolean fotoAlterada = !java.util.Objects.equals(existente.getFotoUrl(), fotoUrl);
+            if (fotoAlterada) {
+                existente.setFotoUrl(fotoUrl);
+                existente.setFotoMiniaturaUrl(null);
+            }
             existente.setNomeContatoEmergencia(novoIdoso.getNomeContatoEmergencia());
             existente.setContatoEmergencia(novoIdoso.getContatoEmergencia());
             existente.getEnderecos().clear();
@@ -105,37 +156,72 @@ public class IdosoService {
 
             existente.refreshImc();
 
-            return repository.save(existente);
-        } catch (ObjectNotFoundException e) {
+            Idoso salvo = repository.save(existente);
+            recipientDirectory.invalidar(salvo.getCpf());
+            if (fotoAlterada) {
+                variantPipeline.agendarFotoIdoso(salvo.getCpf(), salvo.getFotoUrl());
+            }
+            return salvo;
+        } catch (ObjectNotFoundException | OptimisticLockingFailureException e) {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao atualizar idoso com CPF: " + cpf + " - " + e.getMessage());
         }
     }
 
+    // Upload binário (multipart) da foto de perfil: o arquivo vai para o BlobStore e o idoso guarda só a referência
+    @Transactional
+    public Idoso atualizarFoto(String cpf, InputStream conteudo, String contentType) {
+        Idoso existente = buscarPorCpf(cpf);
+        existente.setFotoUrl(BlobService.referencia(blobService.armazenar(conteudo, contentType).getHash()));
+        existente.setFotoMiniaturaUrl(null);
+        Idoso salvo = repository.save(existente);
+        variantPipeline.agendarFotoIdoso(salvo.getCpf(), salvo.getFotoUrl());
+        return salvo;
+    }
+
+    // Usado pela migração em segundo plano; devolve false se a foto já não era inline
+    @Transactional
+    public boolean migrarFotoInline(String cpf) {
+        String fotoUrl = repository.findFotoUrl(cpf);
+        if (!BlobService.isDataUrl(fotoUrl)) {
+            return false;
+        }
+        String referencia = BlobService.referencia(blobService.armazenarDataUrl(fotoUrl).getHash());
+        if (repository.substituirFotoInline(cpf, sha256(fotoUrl), referencia) != 1) {
+            return false;
+        }
+        variantPipeline.agendarFotoIdoso(cpf, referencia);
+        return true;
+    }
+
     public Idoso atribuirCuidador(String idosoCpf, String cuidadorCpf) {
         java.util.Objects.requireNonNull(idosoCpf, "CPF do idoso não pode ser nulo");
         java.util.Objects.requireNonNull(cuidadorCpf, "CPF do cuidador não pode ser nulo");
         Idoso idoso = buscarPorCpf(idosoCpf);
         Cuidador cuidador = recuperarCuidador(cuidadorCpf);
         idoso.setCuidador(cuidador);
-        return repository.save(idoso);
+        Idoso salvo = repository.save(idoso);
+        recipientDirectory.invalidar(salvo.getCpf());
+        return salvo;
     }
 
     public Idoso removerCuidador(String idosoCpf) {
         java.util.Objects.requireNonNull(idosoCpf, "CPF do idoso não pode ser nulo");
         Idoso idoso = buscarPorCpf(idosoCpf);
         idoso.setCuidador(null);
-        return repository.save(idoso);
+        Idoso salvo = repository.save(idoso);
+        recipientDirectory.invalidar(salvo.getCpf());
+        return salvo;
     }
 
-
     public void deletar(String cpf) {
         try {
             java.util.Objects.requireNonNull(cpf, "CPF não pode ser nulo");
             Idoso existente = buscarPorCpf(cpf); // garante que existe com CPF normalizado
             String cpfValido = java.util.Objects.requireNonNull(existente.getCpf(), "CPF do idoso não pode ser nulo");
             repository.deleteById(cpfValido);
+            recipientDirectory.invalidar(cpfValido);
         } catch (ObjectNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -143,9 +229,18 @@ public class IdosoService {
         }
     }
 
+    private static String sha256(String valor) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(valor.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
     private Cuidador recuperarCuidador(String cuidadorCpf) {
         java.util.Objects.requireNonNull(cuidadorCpf, "CPF do cuidador não pode ser nulo");
-        String cpfNormalizado = normalizarCpf(cuidadorCpf);
+        String cpfNormalizado = Cpf.normalizar(cuidadorCpf);
 
         if (cpfNormalizado == null || cpfNormalizado.isBlank()) {
             throw new ObjectNotFoundException("CPF do cuidador inválido: " + cuidadorCpf);
@@ -167,14 +262,4 @@ public class IdosoService {
         return cuidadorRepository.save(novo);
     }
 
-    private String normalizarCpf(String cpf) {
-        if (cpf == null) {
-            return null;
-        }
-        String apenasDigitos = cpf.replaceAll("\\D", "");
-        if (apenasDigitos.length() == 11) {
-            return apenasDigitos;
-        }
-        return cpf.trim();
-    }
 }
@@ -1,10 +1,15 @@
 package org.example.seniorplus.service;
 
 import org.example.seniorplus.domain.Imagem;
+import org.example.seniorplus.domain.Blob;
 import org.example.seniorplus.repository.ImagemRepository;
+import org.example.seniorplus.service.blob.BlobService;
+import org.example.seniorplus.service.blob.ImageVariantPipeline;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -13,6 +18,12 @@ public class ImagemService {
     @Autowired
     private ImagemRepository imagemRepository;
 
+    @Autowired
+    private BlobService blobService;
+
+    @Autowired
+    private ImageVariantPipeline variantPipeline;
+
     // Listar todas as imagens
     public List<Imagem> listarTodas() {
         return imagemRepository.findAll();
@@ -31,19 +42,42 @@ public class ImagemService {
 
     // Salvar nova imagem
     public Imagem salvar(Imagem imagem) {
-        return imagemRepository.save(imagem);
+        Imagem salva = imagemRepository.save(imagem);
+        variantPipeline.agendarImagem(salva.getId(), salva.getUrl());
+        return salva;
+    }
+
+    // Salvar imagem enviada em binário: conteúdo no BlobStore, referência em url
+    public Imagem armazenar(String cpf, String nomeArquivo, InputStream conteudo, String contentType) {
+        Blob blob = blobService.armazenar(conteudo, contentType);
+        String nome = nomeArquivo == null || nomeArquivo.isBlank() ? blob.getHash() : nomeArquivo;
+        Imagem imagem = new Imagem(null, cpf, nome, BlobService.referencia(blob.getHash()),
+                blob.getContentType(), LocalDateTime.now());
+        Imagem salva = imagemRepository.save(imagem);
+        variantPipeline.agendarImagem(salva.getId(), salva.getUrl());
+        return salva;
     }
 
     // Atualizar imagem por ID
     public Imagem atualizar(Long id, Imagem novaImagem) {
         Imagem existente = buscarPorId(id);
 
+        boolean urlAlterada = !java.util.Objects.equals(existente.getUrl(), novaImagem.getUrl());
         existente.setNomeArquivo(novaImagem.getNomeArquivo());
         existente.setUrl(novaImagem.getUrl());
         existente.setTipo(novaImagem.getTipo());
         existente.setDataUpload(novaImagem.getDataUpload());
+        if (urlAlterada) {
+            existente.setUrlAvatar(null);
+            existente.setUrlCard(null);
+            existente.setUrlGrande(null);
+        }
 
-        return imagemRepository.save(existente);
+        Imagem salva = imagemRepository.save(existente);
+        if (urlAlterada) {
+            variantPipeline.agendarImagem(salva.getId(), salva.getUrl());
+        }
+        return salva;
     }
 
     // Deletar imagem por ID
@@ -4,8 +4,11 @@ import java.time.LocalTime;
 import java.util.List;
 import java.util.Objects;
 
+import org.example.seniorplus.domain.Cpf;
 import org.example.seniorplus.domain.Medicamento;
 import org.example.seniorplus.repository.MedicamentoRepository;
+import org.example.seniorplus.service.notification.DoseOccurrenceGenerator;
+import org.example.seniorplus.service.notification.DoseScheduleRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +18,12 @@ public class MedicamentoService {
     @Autowired
     private MedicamentoRepository medicamentoRepository;
 
+    @Autowired
+    private DoseScheduleRegistry doseScheduleRegistry;
+
+    @Autowired
+    private DoseOccurrenceGenerator doseOccurrenceGenerator;
+
     public List<Medicamento> listarPorCpf(String cpf) {
         return medicamentoRepository.findByCpfOrderByNomeMedicamentoAsc(normalizarCpf(cpf));
     }
@@ -22,7 +31,10 @@ public class MedicamentoService {
     public Medicamento salvar(String cpf, Medicamento medicamento) {
         medicamento.setCpf(normalizarCpf(cpf));
         prepararHorarios(medicamento);
-        return medicamentoRepository.save(medicamento);
+        Medicamento salvo = medicamentoRepository.save(medicamento);
+        doseScheduleRegistry.agendar(salvo);
+        doseOccurrenceGenerator.regenerar(salvo);
+        return salvo;
     }
 
     public Medicamento atualizar(Long id, Medicamento atualizado) {
@@ -47,12 +59,17 @@ public class MedicamentoService {
         existente.setHorarios(atualizado.getHorarios());
 
         prepararHorarios(existente);
-        return medicamentoRepository.save(existente);
+        Medicamento salvo = medicamentoRepository.save(existente);
+        doseScheduleRegistry.agendar(salvo);
+        doseOccurrenceGenerator.regenerar(salvo);
+        return salvo;
     }
 
     public void deletar(Long id) {
         Objects.requireNonNull(id, "Id do medicamento não pode ser nulo");
+        // As ocorrências do medicamento são removidas pelo ON DELETE CASCADE de dose_occurrences
         medicamentoRepository.deleteById(id);
+        doseScheduleRegistry.remover(id);
     }
 
     private void prepararHorarios(Medicamento medicamento) {
@@ -68,11 +85,6 @@ public class MedicamentoService {
     }
 
     private String normalizarCpf(String cpf) {
-        Objects.requireNonNull(cpf, "CPF não pode ser nulo");
-        String apenasDigitos = cpf.replaceAll("\\D", "");
-        if (apenasDigitos.length() == 11) {
-            return apenasDigitos;
-        }
-        return cpf.trim();
+        return Cpf.normalizar(Objects.requireNonNull(cpf, "CPF não pode ser nulo"));
     }
 }
@@ -1,5 +1,6 @@
 package org.example.seniorplus.service;
 
+import org.example.seniorplus.domain.Cpf;
 import org.example.seniorplus.domain.Idoso;
 import org.example.seniorplus.domain.Mensagem;
 import org.example.seniorplus.dto.MensagemRequest;
@@ -65,15 +66,8 @@ public class MensagemService {
     }
 
     private Optional<String> normalizarCpf(String cpf) {
-        if (cpf == null) {
-            return Optional.empty();
-        }
-        String apenasDigitos = cpf.replaceAll("\\D", "");
-        if (apenasDigitos.length() == 11) {
-            return Optional.of(apenasDigitos);
-        }
-        String trimmed = cpf.trim();
-        return trimmed.isEmpty() ? Optional.empty() : Optional.of(trimmed);
+        String normalizado = Cpf.normalizar(cpf);
+        return normalizado == null || normalizado.isEmpty() ? Optional.empty() : Optional.of(normalizado);
     }
 
     private MensagemResponse toResponse(Mensagem mensagem) {
@@ -0,0 +1,149 @@
+package org.example.seniorplus.service;
+
+import org.example.seniorplus.domain.RefreshToken;
+import org.example.seniorplus.domain.Usuario;
+import org.example.seniorplus.dto.AuthenticationResponse;
+import org.example.seniorplus.exception.AuthenticationException;
+import org.example.seniorplus.repository.RefreshTokenRepository;
+import org.example.seniorplus.security.JwtService;
+import org.example.seniorplus.security.TokenRevocationList;
+import org.example.seniorplus.service.ratelimit.AuthRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emite e rotaciona refresh tokens. Cada uso troca o refresh por um novo da mesma família;
+ * apresentar de novo um token já rotacionado indica vazamento e revoga a família inteira,
+ * junto com os access tokens ainda válidos emitidos por ela.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int BYTES_TOKEN = 32;
+
+    private final RefreshTokenRepository repository;
+    private final JwtService jwtService;
+    private final TokenRevocationList revocationList;
+    private final AuthRateLimiter rateLimiter;
+    private final Duration validade;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository repository,
+                               JwtService jwtService,
+                               TokenRevocationList revocationList,
+                               AuthRateLimiter rateLimiter,
+                               @Value("${jwt.refresh-expiration:30d}") Duration validade) {
+        this.repository = repository;
+        this.jwtService = jwtService;
+        this.revocationList = revocationList;
+        this.rateLimiter = rateLimiter;
+        this.validade = validade;
+    }
+
+    // Novo login: abre uma família
+    @Transactional
+    public AuthenticationResponse emitir(Usuario usuario) {
+        return emitir(usuario, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public AuthenticationResponse rotacionar(String refreshToken) {
+        RefreshToken atual = buscar(refreshToken);
+        rateLimiter.verificarSessao(atual.getFamilia());
+        if (atual.getRevokedAt() != null || repository.revogarSeAtivo(atual.getId()) == 0) {
+            logger.warn("Refresh token reutilizado; revogando a família {}", atual.getFamilia());
+            revogarFamilia(atual.getFamilia());
+            throw new AuthenticationException("Refresh token já utilizado");
+        }
+        if (atual.isExpirado()) {
+            throw new AuthenticationException("Refresh token expirado");
+        }
+        return emitir(atual.getUsuario(), atual.getFamilia());
+    }
+
+    // Logout: encerra a sessão inteira (família) do refresh informado
+    @Transactional
+    public void revogar(String refreshToken) {
+        repository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> revogarFamilia(token.getFamilia()));
+    }
+
+    // Troca de senha: encerra todas as sessões do usuário
+    @Transactional
+    public void revogarDoUsuario(Long usuarioId) {
+        repository.revogarDoUsuario(usuarioId);
+        for (RefreshToken token : repository.findByUsuarioIdAndAccessExpiresAtAfter(usuarioId, LocalDateTime.now())) {
+            revocationList.revogar(token.getAccessJti(), token.getAccessExpiresAt());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.cleanup-interval:PT1H}",
+            initialDelayString = "${jwt.revocation.cleanup-interval:PT1H}")
+    @Transactional
+    public void removerExpirados() {
+        repository.removerExpirados(LocalDateTime.now());
+    }
+
+    private AuthenticationResponse emitir(Usuario usuario, String familia) {
+        AuthenticationResponse resposta = jwtService.generateToken(usuario);
+        String segredo = gerarSegredo();
+
+        RefreshToken token = new RefreshToken();
+        token.setUsuario(usuario);
+        token.setTokenHash(hash(segredo));
+        token.setFamilia(familia);
+        token.setExpiresAt(LocalDateTime.now().plus(validade));
+        token.setAccessJti(resposta.getTokenId());
+        token.setAccessExpiresAt(resposta.getExpiresAt());
+        repository.save(token);
+
+        resposta.setRefreshToken(segredo);
+        resposta.setRefreshExpiresAt(token.getExpiresAt());
+        return resposta;
+    }
+
+    private void revogarFamilia(String familia) {
+        repository.revogarFamilia(familia);
+        for (RefreshToken token : repository.findByFamiliaAndAccessExpiresAtAfter(familia, LocalDateTime.now())) {
+            revocationList.revogar(token.getAccessJti(), token.getAccessExpiresAt());
+        }
+    }
+
+    private RefreshToken buscar(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new AuthenticationException("Refresh token inválido");
+        }
+        return repository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new AuthenticationException("Refresh token inválido"));
+    }
+
+    private String gerarSegredo() {
+        byte[] bytes = new byte[BYTES_TOKEN];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.example.seniorplus.domain.Usuario;
 import org.example.seniorplus.exception.AuthenticationException;
 import org.example.seniorplus.repository.ResetSenhaTokenRepository;
 import org.example.seniorplus.repository.UsuarioRepository;
+import org.example.seniorplus.security.TokenVersionCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,8 @@ public class ResetSenhaService {
     private final ResetSenhaTokenRepository resetTokenRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionCache tokenVersionCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Transactional
     public void solicitarResetSenha(String email) throws MessagingException {
@@ -51,7 +54,11 @@ public class ResetSenhaService {
 
         Usuario usuario = resetToken.getUsuario();
         usuario.setSenha(passwordEncoder.encode(novaSenha));
+        // Revoga os tokens emitidos com a senha antiga
+        usuario.setTokenVersion(usuario.getTokenVersion() + 1);
         usuarioRepository.save(usuario);
+        tokenVersionCache.invalidar(usuario.getId());
+        refreshTokenService.revogarDoUsuario(usuario.getId());
 
         resetToken.setUtilizado(true);
         resetTokenRepository.save(resetToken);
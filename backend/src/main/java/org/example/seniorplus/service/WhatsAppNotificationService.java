@@ -1,99 +1,181 @@
 package org.example.seniorplus.service;
 
-import org.example.seniorplus.domain.Idoso;
+import org.example.seniorplus.config.SchedulerProperties;
+import org.example.seniorplus.domain.DeliveryChannel;
+import org.example.seniorplus.domain.DoseOccurrenceStatus;
 import org.example.seniorplus.domain.Medicamento;
-import org.example.seniorplus.repository.IdosoRepository;
+import org.example.seniorplus.repository.DoseOccurrenceRepository;
 import org.example.seniorplus.repository.MedicamentoRepository;
-import org.springframework.http.ResponseEntity;
+import org.example.seniorplus.service.notification.Destinatario;
+import org.example.seniorplus.service.notification.DoseDevida;
+import org.example.seniorplus.service.notification.DoseOccurrenceGenerator;
+import org.example.seniorplus.service.notification.DoseScheduleRegistry;
+import org.example.seniorplus.service.notification.NotificationRouter;
+import org.example.seniorplus.service.notification.RecipientDirectory;
+import org.example.seniorplus.service.notification.SchedulerLeaseManager;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalTime;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class WhatsAppNotificationService {
 
     private final MedicamentoRepository medicamentoRepository;
-    private final IdosoRepository idosoRepository;
-    private final RestTemplate restTemplate;
-    private static final String API_URL = "https://api.callmebot.com/whatsapp.php";
+    private final RecipientDirectory recipientDirectory;
+    private final DoseScheduleRegistry doseScheduleRegistry;
+    private final DoseOccurrenceGenerator occurrenceGenerator;
+    private final DoseOccurrenceRepository occurrenceRepository;
+    private final NotificationRouter notificationRouter;
+    private final SchedulerLeaseManager leaseManager;
+    private final SchedulerProperties schedulerProperties;
 
     public WhatsAppNotificationService(MedicamentoRepository medicamentoRepository,
-                                       IdosoRepository idosoRepository,
-                                       RestTemplate restTemplate) {
+                                       RecipientDirectory recipientDirectory,
+                                       DoseScheduleRegistry doseScheduleRegistry,
+                                       DoseOccurrenceGenerator occurrenceGenerator,
+                                       DoseOccurrenceRepository occurrenceRepository,
+                                       NotificationRouter notificationRouter,
+                                       SchedulerLeaseManager leaseManager,
+                                       SchedulerProperties schedulerProperties) {
         this.medicamentoRepository = medicamentoRepository;
-        this.idosoRepository = idosoRepository;
-        this.restTemplate = restTemplate;
+        this.recipientDirectory = recipientDirectory;
+        this.doseScheduleRegistry = doseScheduleRegistry;
+        this.occurrenceGenerator = occurrenceGenerator;
+        this.occurrenceRepository = occurrenceRepository;
+        this.notificationRouter = notificationRouter;
+        this.leaseManager = leaseManager;
+        this.schedulerProperties = schedulerProperties;
     }
 
-    @Transactional(readOnly = true)
+    // Carrega a agenda completa uma única vez; depois disso o registro é mantido pelo MedicamentoService
+    public void carregarAgenda() {
+        List<Medicamento> medicamentos = medicamentoRepository.findAllComHorarios();
+        doseScheduleRegistry.recarregar(medicamentos);
+        System.out.println("📅 Agenda de doses carregada: " + doseScheduleRegistry.totalAgendado() + " medicamentos");
+        occurrenceGenerator.avancarJanela();
+    }
+
+    // Sem transação própria: a reivindicação no registro de entregas e a marca d'água são gravadas à parte
     @Scheduled(fixedRate = 60000) // Executa a cada 1 minuto
-    public void verificarEEnviarMensagens() {
-        LocalTime agora = LocalTime.now().withSecond(0).withNano(0);
-        System.out.println("🔍 Verificando horários às: " + agora);
+    public synchronized void verificarEEnviarMensagens() {
+        LocalDateTime agora = LocalDateTime.now().withSecond(0).withNano(0);
+        // Cada réplica processa apenas os shards de CPF sob a sua concessão
+        Set<Integer> shards = leaseManager.shardsAtivos();
+        if (shards.isEmpty()) {
+            return;
+        }
 
-        List<Medicamento> medicamentos = medicamentoRepository.findAll();
+        // Retoma do minuto seguinte à marca d'água de cada shard, limitado a max-catch-up
+        int totalShards = leaseManager.totalShards();
+        LocalDateTime limite = agora.minus(schedulerProperties.getMaxCatchUp());
+        Map<Integer, LocalDateTime> marcas = leaseManager.marcas(shards);
+        Map<Integer, LocalDateTime> inicioPorShard = new HashMap<>();
+        LocalDateTime inicio = agora;
+        for (Integer shard : shards) {
+            LocalDateTime marca = marcas.get(shard);
+            LocalDateTime desde = marca == null ? agora : marca.plusMinutes(1);
+            if (desde.isBefore(limite)) {
+                desde = limite;
+            }
+            inicioPorShard.put(shard, desde);
+            if (desde.isBefore(inicio)) {
+                inicio = desde;
+            }
+        }
+        if (inicio.isBefore(agora)) {
+            System.out.println("⏪ Recuperando minutos perdidos desde " + inicio + " (shards " + shards + ")");
+        } else {
+            System.out.println("🔍 Verificando horários às: " + agora.toLocalTime() + " (shards " + shards + ")");
+        }
+
+        // Uma única consulta por intervalo cobre todos os minutos pendentes
+        List<DoseDevida> doses = occurrenceRepository.findDevidas(
+                inicio, agora.plusMinutes(1), DoseOccurrenceStatus.PENDING, totalShards, shards);
+
+        List<DoseDevida> aProcessar = new ArrayList<>(doses.size());
+        Set<String> cpfs = new HashSet<>();
+        for (DoseDevida dose : doses) {
+            LocalDateTime desde = inicioPorShard.get(dose.getCpfHash() % totalShards);
+            if (desde == null || dose.getDueAt().isBefore(desde)) {
+                continue;
+            }
+            aProcessar.add(dose);
+            if (dose.getCpf() != null) {
+                cpfs.add(dose.getCpf());
+            }
+        }
 
-        for (Medicamento medicamento : medicamentos) {
+        // Contatos de todos os destinatários do tick em uma consulta (ou do cache)
+        Map<String, Destinatario> destinatarios = recipientDirectory.resolver(cpfs);
+
+        // A ocorrência só vira NOTIFIED quando o dispatcher confirma o envio no registro de entregas
+        Map<Integer, LocalDateTime> primeiraFalha = new HashMap<>();
+        for (DoseDevida dose : aProcessar) {
             try {
-                List<LocalTime> proximosHorarios = medicamento.gerarHorariosNasProximas2Horas();
-
-                for (LocalTime horario : proximosHorarios) {
-                    if (horario.equals(agora)) {
-                        enviarMensagem(medicamento);
-                        break; // Evita múltiplos envios no mesmo minuto
-                    }
-                }
+                enviarMensagem(dose, destinatarios);
             } catch (Exception e) {
                 System.err.println("❌ Erro ao processar horário do medicamento: " + e.getMessage());
                 e.printStackTrace();
+                primeiraFalha.merge(dose.getCpfHash() % totalShards, dose.getDueAt(),
+                        (a, b) -> a.isBefore(b) ? a : b);
             }
         }
+
+        // A marca de um shard para antes do minuto que falhou: o próximo tick tenta de novo a partir dele,
+        // e o registro de entregas impede que os canais já reivindicados reenviem
+        Map<Integer, LocalDateTime> progresso = new HashMap<>();
+        for (Integer shard : shards) {
+            LocalDateTime falha = primeiraFalha.get(shard);
+            progresso.put(shard, falha == null ? agora : falha.minusMinutes(1));
+        }
+        leaseManager.registrarProgresso(progresso);
     }
 
-    private void enviarMensagem(Medicamento medicamento) {
+    private void enviarMensagem(DoseDevida medicamento, Map<String, Destinatario> destinatarios) {
         String cpf = medicamento.getCpf(); // Obtém o CPF associado ao medicamento
         if (cpf == null) {
             System.err.println("❌ Erro: CPF não encontrado no medicamento.");
             return;
         }
 
-        // Busca o idoso pelo CPF
-        Idoso idoso = idosoRepository.findById(cpf).orElse(null);
-        if (idoso == null) {
+        Destinatario destinatario = destinatarios.get(cpf);
+        if (destinatario == null) {
             System.err.println("❌ Erro: Idoso não encontrado com CPF: " + cpf);
             return;
         }
 
-        String telefone = idoso.getTelefone();
-        String apiKey = idoso.getObservacao(); // Ajuste se a API Key estiver salva em outro campo
         String mensagemAlternativa = medicamento.getInstrucoes();
-
-        if (apiKey == null || apiKey.isEmpty()) {
-            System.err.println("❌ Erro: API Key do idoso está vazia ou nula!");
-            return;
-        }
-
         String mensagem = (mensagemAlternativa != null && !mensagemAlternativa.trim().isEmpty())
                 ? mensagemAlternativa
                 : "💊 *Lembrete de Medicamento!*\n" +
                 "📌 *Medicamento:* " + medicamento.getNomeMedicamento() + "\n" +
                 "🔔 *Não se esqueça de tomar seu remédio!*";
 
-        // Monta a URL para a API do WhatsApp
-        String url = API_URL + "?phone=" + telefone + "&text=" + mensagem + "&apikey=" + apiKey;
-
-        System.out.println("📤 Enviando mensagem para: " + telefone);
-        System.out.println("🔗 URL: " + url);
-
-        try {
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            System.out.println("✅ Resposta da API: " + response.getBody());
-        } catch (Exception e) {
-            System.err.println("❌ Erro ao enviar mensagem: " + e.getMessage());
+        // WhatsApp continua sempre ativo; os demais canais seguem as flags do medicamento
+        Set<DeliveryChannel> canais = EnumSet.of(DeliveryChannel.WHATSAPP);
+        if (medicamento.isNotificarPorEmail()) {
+            canais.add(DeliveryChannel.EMAIL);
         }
+        if (medicamento.isNotificarPorApp()) {
+            canais.add(DeliveryChannel.IN_APP);
+        }
+        if (medicamento.isNotificarPorSms()) {
+            canais.add(DeliveryChannel.SMS);
+        }
+
+        // O envio acontece nos workers do dispatcher, um por canal; aqui apenas roteamos
+        String resumo = medicamento.getNomeMedicamento()
+                + (mensagemAlternativa != null && !mensagemAlternativa.trim().isEmpty() ? " — " + mensagemAlternativa.trim() : "");
+        notificationRouter.rotear(medicamento.getMedicamentoId(), medicamento.getDueAt(), destinatario,
+                mensagem, resumo, canais);
+        System.out.println("📤 Lembrete roteado para " + cpf + " via " + canais);
     }
 }
@@ -0,0 +1,145 @@
+package org.example.seniorplus.service.blob;
+
+import org.example.seniorplus.config.BlobStorageProperties;
+import org.example.seniorplus.domain.Blob;
+import org.example.seniorplus.repository.BlobRepository;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Fachada do armazenamento de arquivos: grava os bytes no BlobStore, registra tipo e tamanho
+ * na tabela blobs e monta a referência curta (/api/v1/blobs/{hash}) gravada nas entidades.
+ */
+@Service
+public class BlobService {
+
+    public static final String PREFIXO_REFERENCIA = "/api/v1/blobs/";
+
+    // Servidos sem autenticação e na mesma origem do app: nada que o navegador execute
+    private static final Set<String> TIPOS_PERMITIDOS = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp", "application/pdf");
+
+    private final BlobStore blobStore;
+    private final BlobRepository blobRepository;
+    private final BlobStorageProperties properties;
+
+    public BlobService(BlobStore blobStore, BlobRepository blobRepository, BlobStorageProperties properties) {
+        this.blobStore = blobStore;
+        this.blobRepository = blobRepository;
+        this.properties = properties;
+    }
+
+    @Transactional
+    public Blob armazenar(InputStream conteudo, String contentType) {
+        String tipo = validarTipo(contentType);
+        try {
+            BlobStore.StoredBlob gravado = blobStore.gravar(conteudo, properties.getMaxSize().toBytes());
+            blobRepository.inserirSeAusente(gravado.hash(), tipo, gravado.tamanho());
+            return new Blob(gravado.hash(), tipo, gravado.tamanho());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar arquivo", e);
+        }
+    }
+
+    // Converte uma data URL (data:image/png;base64,...) sem materializar os bytes decodificados
+    @Transactional
+    public Blob armazenarDataUrl(String dataUrl) {
+        if (!isDataUrl(dataUrl)) {
+            throw new IllegalArgumentException("Data URL inválida");
+        }
+        int virgula = dataUrl.indexOf(',');
+        String cabecalho = virgula < 0 ? "" : dataUrl.substring(5, virgula);
+        if (!cabecalho.endsWith(";base64")) {
+            throw new IllegalArgumentException("Apenas data URLs em base64 são suportadas");
+        }
+        String tipo = cabecalho.substring(0, cabecalho.length() - ";base64".length());
+        byte[] payload = dataUrl.substring(virgula + 1).getBytes(StandardCharsets.ISO_8859_1);
+        return armazenar(Base64.getMimeDecoder().wrap(new ByteArrayInputStream(payload)), tipo);
+    }
+
+    // Campos que ainda podem chegar como data URL (foto, receita, anexo) ficam só com a referência ao blob
+    public String externalizar(String valor) {
+        if (!isDataUrl(valor)) {
+            return valor;
+        }
+        return referencia(armazenarDataUrl(valor).getHash());
+    }
+
+    // Metadados e conteúdo juntos; vazio se o hash não existir em nenhum dos dois
+    public Optional<ArquivoBlob> abrirArquivo(String hash) {
+        return buscar(hash).flatMap(blob -> blobStore.abrir(blob.getHash()).map(r -> new ArquivoBlob(blob, r)));
+    }
+
+    public Optional<Blob> buscar(String hash) {
+        if (!FileSystemBlobStore.isHashValido(hash)) {
+            return Optional.empty();
+        }
+        return blobRepository.findById(hash);
+    }
+
+    public Optional<Resource> abrir(String hash) {
+        return blobStore.abrir(hash);
+    }
+
+    // Arquivo enviado avulso: o autor pode lê-lo até (e depois de) referenciá-lo num registro
+    @Transactional
+    public void concederAcesso(String hash, Long usuarioId) {
+        if (usuarioId != null) {
+            blobRepository.concederAcesso(hash, usuarioId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public boolean podeLer(String hash, Long usuarioId, String cpf) {
+        if (!FileSystemBlobStore.isHashValido(hash)) {
+            return false;
+        }
+        Long permitido = blobRepository.podeLer(hash, referencia(hash), usuarioId, cpf);
+        return permitido != null && permitido > 0;
+    }
+
+    public static String referencia(String hash) {
+        return PREFIXO_REFERENCIA + hash;
+    }
+
+    // Extrai o hash de uma referência /api/v1/blobs/{hash}; null para URLs externas ou inválidas
+    public static String hashDaReferencia(String referencia) {
+        if (referencia == null || !referencia.startsWith(PREFIXO_REFERENCIA)) {
+            return null;
+        }
+        String hash = referencia.substring(PREFIXO_REFERENCIA.length());
+        return FileSystemBlobStore.isHashValido(hash) ? hash : null;
+    }
+
+    public static boolean isDataUrl(String valor) {
+        return valor != null && valor.regionMatches(true, 0, "data:", 0, 5);
+    }
+
+    public record ArquivoBlob(Blob blob, Resource conteudo) {
+    }
+
+    private static String validarTipo(String contentType) {
+        if (contentType == null) {
+            throw new IllegalArgumentException("Tipo de arquivo não informado");
+        }
+        String tipo = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        if (tipo.equals("image/jpg")) {
+            tipo = "image/jpeg";
+        }
+        if (!TIPOS_PERMITIDOS.contains(tipo)) {
+            throw new IllegalArgumentException("Tipo de arquivo não suportado: " + tipo);
+        }
+        return tipo;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.seniorplus.service.blob;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Armazenamento de bytes endereçado por conteúdo: a chave de cada blob é o SHA-256 do
+ * conteúdo, então gravar o mesmo arquivo duas vezes não ocupa espaço extra. Os metadados
+ * (tipo, tamanho) ficam na tabela blobs, a cargo do BlobService.
+ */
+public interface BlobStore {
+
+    /**
+     * Grava o conteúdo lido do stream e devolve o hash e o tamanho. O stream é consumido até o
+     * fim; se passar de {@code limiteBytes}, nada é gravado e BlobTooLargeException é lançada.
+     */
+    StoredBlob gravar(InputStream conteudo, long limiteBytes) throws IOException;
+
+    Optional<Resource> abrir(String hash);
+
+    boolean existe(String hash);
+
+    record StoredBlob(String hash, long tamanho) {
+    }
+}
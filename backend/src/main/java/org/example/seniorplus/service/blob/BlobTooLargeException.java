@@ -0,0 +1,7 @@
+package org.example.seniorplus.service.blob;
+
+public class BlobTooLargeException extends RuntimeException {
+    public BlobTooLargeException(long limiteBytes) {
+        super("Arquivo excede o tamanho máximo de " + limiteBytes + " bytes");
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.seniorplus.service.blob;
+
+import org.example.seniorplus.config.BlobStorageProperties;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * BlobStore em disco local. Cada blob fica em {@code raiz/ab/cd/<hash>}; o conteúdo é
+ * gravado num arquivo temporário enquanto o hash é calculado e só então movido para o nome
+ * final, de modo que leitores nunca veem um arquivo pela metade. O diretório é local à
+ * réplica: com mais de uma instância, a raiz precisa ser um volume compartilhado.
+ */
+@Component
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Pattern HASH_VALIDO = Pattern.compile("[0-9a-f]{64}");
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final Path raiz;
+    private final Path temporarios;
+
+    public FileSystemBlobStore(BlobStorageProperties properties) {
+        this.raiz = Paths.get(properties.getRoot()).toAbsolutePath().normalize();
+        this.temporarios = raiz.resolve("tmp");
+        try {
+            Files.createDirectories(temporarios);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório de blobs " + raiz, e);
+        }
+    }
+
+    @Override
+    public StoredBlob gravar(InputStream conteudo, long limiteBytes) throws IOException {
+        Path temporario = Files.createTempFile(temporarios, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long tamanho = 0;
+            try (DigestInputStream entrada = new DigestInputStream(conteudo, digest);
+                 OutputStream saida = Files.newOutputStream(temporario)) {
+                byte[] buffer = new byte[TAMANHO_BUFFER];
+                int lidos;
+                while ((lidos = entrada.read(buffer)) != -1) {
+                    tamanho += lidos;
+                    if (tamanho > limiteBytes) {
+                        throw new BlobTooLargeException(limiteBytes);
+                    }
+                    saida.write(buffer, 0, lidos);
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path destino = caminho(hash);
+            if (!Files.exists(destino)) {
+                Files.createDirectories(destino.getParent());
+                try {
+                    Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Outro upload do mesmo conteúdo chegou primeiro; o arquivo dele é idêntico
+                }
+            }
+            return new StoredBlob(hash, tamanho);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    @Override
+    public Optional<Resource> abrir(String hash) {
+        if (!isHashValido(hash)) {
+            return Optional.empty();
+        }
+        Path arquivo = caminho(hash);
+        return Files.isRegularFile(arquivo) ? Optional.of(new FileSystemResource(arquivo)) : Optional.empty();
+    }
+
+    @Override
+    public boolean existe(String hash) {
+        return isHashValido(hash) && Files.isRegularFile(caminho(hash));
+    }
+
+    static boolean isHashValido(String hash) {
+        return hash != null && HASH_VALIDO.matcher(hash).matches();
+    }
+
+    private Path caminho(String hash) {
+        return raiz.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
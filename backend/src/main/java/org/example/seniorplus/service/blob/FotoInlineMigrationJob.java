@@ -0,0 +1,69 @@
+package org.example.seniorplus.service.blob;
+
+import org.example.seniorplus.config.BlobStorageProperties;
+import org.example.seniorplus.repository.IdosoRepository;
+import org.example.seniorplus.service.IdosoService;
+import org.example.seniorplus.service.notification.SchedulerLeaseManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Move, em segundo plano e em lotes pequenos, as fotos ainda gravadas como data URL em
+ * idosos.foto_url para o BlobStore, deixando no lugar apenas a referência curta. Roda só
+ * no líder; cada foto é migrada na sua própria transação. Depois de uma varredura completa
+ * sem nada para migrar, o job para até a próxima inicialização.
+ */
+@Component
+public class FotoInlineMigrationJob {
+
+    private final IdosoRepository idosoRepository;
+    private final IdosoService idosoService;
+    private final SchedulerLeaseManager leaseManager;
+    private final BlobStorageProperties properties;
+
+    private String cursor = "";
+    private int migradosNaVarredura;
+    private volatile boolean concluido;
+
+    public FotoInlineMigrationJob(IdosoRepository idosoRepository,
+                                  IdosoService idosoService,
+                                  SchedulerLeaseManager leaseManager,
+                                  BlobStorageProperties properties) {
+        this.idosoRepository = idosoRepository;
+        this.idosoService = idosoService;
+        this.leaseManager = leaseManager;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${storage.blobs.migration-interval:PT1M}",
+            initialDelayString = "${storage.blobs.migration-interval:PT1M}")
+    public synchronized void migrarLote() {
+        if (concluido || !leaseManager.isLider()) {
+            return;
+        }
+        List<String> cpfs = idosoRepository.findCpfsComFotoInline(cursor, Math.max(1, properties.getMigrationBatchSize()));
+        if (cpfs.isEmpty()) {
+            // Fim da varredura: recomeça enquanto ainda houver o que migrar (fotos salvas durante a passagem)
+            if (migradosNaVarredura == 0) {
+                concluido = true;
+                System.out.println("🗂️ Migração de fotos inline concluída");
+            }
+            cursor = "";
+            migradosNaVarredura = 0;
+            return;
+        }
+        for (String cpf : cpfs) {
+            try {
+                if (idosoService.migrarFotoInline(cpf)) {
+                    migradosNaVarredura++;
+                }
+            } catch (Exception e) {
+                // Data URL inválida ou tipo não suportado: fica como está e a varredura segue
+                System.err.println("⚠️ Foto inline do idoso " + cpf + " não migrada: " + e.getMessage());
+            }
+        }
+        cursor = cpfs.get(cpfs.size() - 1);
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.seniorplus.service.blob;
+
+import org.example.seniorplus.config.ImageVariantProperties;
+import org.example.seniorplus.domain.VarianteImagem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gera as variantes de tamanho fixo (VarianteImagem) de um blob de imagem usando apenas o
+ * ImageIO do JDK. Cada variante é gravada como JPEG no próprio BlobStore; quando a imagem já
+ * é menor que a variante, ou não é uma imagem legível, a variante aponta para o original.
+ */
+@Component
+public class ImageVariantGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantGenerator.class);
+
+    private final BlobService blobService;
+    private final ImageVariantProperties properties;
+
+    public ImageVariantGenerator(BlobService blobService, ImageVariantProperties properties) {
+        this.blobService = blobService;
+        this.properties = properties;
+    }
+
+    public Map<VarianteImagem, String> gerar(String hash, Set<VarianteImagem> pedidas) throws IOException {
+        BlobService.ArquivoBlob arquivo = blobService.abrirArquivo(hash)
+                .orElseThrow(() -> new FileNotFoundException("Blob não encontrado: " + hash));
+        String original = BlobService.referencia(hash);
+        Map<VarianteImagem, String> variantes = new EnumMap<>(VarianteImagem.class);
+
+        BufferedImage imagem = arquivo.blob().getContentType().startsWith("image/") ? ler(arquivo.conteudo()) : null;
+        if (imagem == null) {
+            // PDF, formato sem leitor no JDK (webp) ou imagem grande demais: todas as variantes usam o original
+            for (VarianteImagem variante : pedidas) {
+                variantes.put(variante, original);
+            }
+            return variantes;
+        }
+
+        // Da maior para a menor, reduzindo a partir da variante anterior: cada passo trabalha com menos pixels
+        VarianteImagem[] tamanhos = VarianteImagem.values();
+        BufferedImage base = imagem;
+        for (int i = tamanhos.length - 1; i >= 0; i--) {
+            VarianteImagem variante = tamanhos[i];
+            if (!pedidas.contains(variante)) {
+                continue;
+            }
+            if (base == imagem && Math.max(imagem.getWidth(), imagem.getHeight()) <= variante.getMaiorLado()) {
+                variantes.put(variante, original);
+                continue;
+            }
+            base = reduzir(base, variante.getMaiorLado());
+            variantes.put(variante, BlobService.referencia(gravarJpeg(base)));
+        }
+        return variantes;
+    }
+
+    // Lê as dimensões antes de decodificar, para recusar imagens que ocupariam gigabytes em memória.
+    // Qualquer falha de decodificação vira "sem imagem": as variantes apontam para o original e o
+    // registro deixa de ser pendente, em vez de voltar a cada varredura.
+    private BufferedImage ler(Resource recurso) throws IOException {
+        try (InputStream entrada = recurso.getInputStream();
+             ImageInputStream imagem = ImageIO.createImageInputStream(entrada)) {
+            if (imagem == null) {
+                return null;
+            }
+            Iterator<ImageReader> leitores = ImageIO.getImageReaders(imagem);
+            if (!leitores.hasNext()) {
+                return null;
+            }
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(imagem, true, true);
+                long pixels = (long) leitor.getWidth(0) * leitor.getHeight(0);
+                if (pixels > properties.getMaxPixels()) {
+                    return null;
+                }
+                return leitor.read(0);
+            } catch (IOException | RuntimeException e) {
+                // Arquivo corrompido, truncado ou variante não suportada pelo JDK (ex.: JPEG CMYK): fica com o original
+                logger.warn("Imagem {} não decodificável ({}); variantes usarão o original", recurso.getDescription(), e.toString());
+                return null;
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage reduzir(BufferedImage origem, int maiorLado) {
+        double escala = Math.min(1.0, (double) maiorLado / Math.max(origem.getWidth(), origem.getHeight()));
+        int largura = Math.max(1, (int) Math.round(origem.getWidth() * escala));
+        int altura = Math.max(1, (int) Math.round(origem.getHeight() * escala));
+        // Reduções sucessivas pela metade evitam o serrilhado da interpolação bilinear num passo só
+        BufferedImage atual = origem;
+        while (atual.getWidth() / 2 >= largura && atual.getHeight() / 2 >= altura) {
+            atual = desenhar(atual, atual.getWidth() / 2, atual.getHeight() / 2);
+        }
+        return desenhar(atual, largura, altura);
+    }
+
+    private static BufferedImage desenhar(BufferedImage origem, int largura, int altura) {
+        BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG não tem transparência: PNGs com alfa ficam sobre fundo branco
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, largura, altura);
+            g.drawImage(origem, 0, 0, largura, altura, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private String gravarJpeg(BufferedImage imagem) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream destino = ImageIO.createImageOutputStream(saida)) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(properties.getJpegQuality());
+            escritor.setOutput(destino);
+            escritor.write(null, new IIOImage(imagem, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+        return blobService.armazenar(new ByteArrayInputStream(saida.toByteArray()), "image/jpeg").getHash();
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.seniorplus.service.blob;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.seniorplus.config.ImageVariantProperties;
+import org.example.seniorplus.domain.Imagem;
+import org.example.seniorplus.domain.VarianteImagem;
+import org.example.seniorplus.repository.IdosoRepository;
+import org.example.seniorplus.repository.ImagemRepository;
+import org.example.seniorplus.service.notification.SchedulerLeaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gera as variantes das imagens enviadas num pool próprio e limitado, fora da requisição de
+ * upload. Com a fila cheia a tarefa é descartada: o registro fica sem variantes (as listagens
+ * usam o original) e a varredura periódica do líder tenta de novo mais tarde.
+ */
+@Component
+public class ImageVariantPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantPipeline.class);
+
+    // A foto do idoso só aparece como avatar nas listagens; o detalhe continua usando o original
+    private static final Set<VarianteImagem> VARIANTES_FOTO = EnumSet.of(VarianteImagem.AVATAR);
+
+    private final ImageVariantGenerator generator;
+    private final ImageVariantRecorder recorder;
+    private final ImagemRepository imagemRepository;
+    private final IdosoRepository idosoRepository;
+    private final SchedulerLeaseManager leaseManager;
+    private final ImageVariantProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Timer duracao;
+    private final Counter rejeitados;
+    private final Counter falhas;
+
+    // Cursores da varredura: avançam a cada lote e voltam ao início quando um lote vem incompleto
+    private long cursorImagem;
+    private String cursorIdoso = "";
+
+    public ImageVariantPipeline(ImageVariantGenerator generator,
+                                ImageVariantRecorder recorder,
+                                ImagemRepository imagemRepository,
+                                IdosoRepository idosoRepository,
+                                SchedulerLeaseManager leaseManager,
+                                ImageVariantProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.generator = generator;
+        this.recorder = recorder;
+        this.imagemRepository = imagemRepository;
+        this.idosoRepository = idosoRepository;
+        this.leaseManager = leaseManager;
+        this.properties = properties;
+        int threads = Math.max(1, properties.getThreads());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("image-variants-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("storage.images.variants.queue", executor, e -> e.getQueue().size())
+                .description("Imagens aguardando a geração de variantes")
+                .register(meterRegistry);
+        this.duracao = Timer.builder("storage.images.variants")
+                .description("Tempo para decodificar, reduzir e gravar as variantes de uma imagem")
+                .register(meterRegistry);
+        this.rejeitados = meterRegistry.counter("storage.images.variants.rejected");
+        this.falhas = meterRegistry.counter("storage.images.variants.failed");
+    }
+
+    public void agendarImagem(Long id, String url) {
+        String hash = BlobService.hashDaReferencia(url);
+        if (id == null || hash == null) {
+            return;
+        }
+        aposCommit(() -> processar("imagem " + id,
+                () -> recorder.registrarImagem(id, url, generator.gerar(hash, EnumSet.allOf(VarianteImagem.class)))));
+    }
+
+    public void agendarFotoIdoso(String cpf, String fotoUrl) {
+        String hash = BlobService.hashDaReferencia(fotoUrl);
+        if (cpf == null || hash == null) {
+            return;
+        }
+        aposCommit(() -> processar("foto do idoso " + cpf,
+                () -> recorder.registrarFotoIdoso(cpf, fotoUrl, generator.gerar(hash, VARIANTES_FOTO))));
+    }
+
+    // Recupera o que ficou sem variantes (fila cheia, reinício, registros anteriores ao pipeline).
+    // Itens que falham de novo ficam para a próxima volta do cursor, sem bloquear os mais novos.
+    @Scheduled(fixedDelayString = "${storage.images.backfill-interval:PT5M}",
+            initialDelayString = "${storage.images.backfill-interval:PT5M}")
+    public synchronized void reprocessarPendentes() {
+        if (!leaseManager.isLider()) {
+            return;
+        }
+        int vagas = Math.min(Math.max(1, properties.getBackfillBatchSize()), executor.getQueue().remainingCapacity());
+        if (vagas <= 0) {
+            return;
+        }
+        List<Imagem> imagens = imagemRepository.findSemVariantes(cursorImagem, Limit.of(vagas));
+        for (Imagem imagem : imagens) {
+            agendarImagem(imagem.getId(), imagem.getUrl());
+        }
+        cursorImagem = imagens.size() < vagas ? 0L : imagens.get(imagens.size() - 1).getId();
+
+        List<String> cpfs = idosoRepository.findCpfsSemMiniatura(cursorIdoso, vagas);
+        for (String cpf : cpfs) {
+            agendarFotoIdoso(cpf, idosoRepository.findFotoUrl(cpf));
+        }
+        cursorIdoso = cpfs.size() < vagas ? "" : cpfs.get(cpfs.size() - 1);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // A tarefa lê o registro gravado pela requisição: só pode entrar na fila depois do commit
+    private void aposCommit(Runnable tarefa) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submeter(tarefa);
+                }
+            });
+            return;
+        }
+        submeter(tarefa);
+    }
+
+    private void submeter(Runnable tarefa) {
+        try {
+            executor.execute(tarefa);
+        } catch (RejectedExecutionException e) {
+            rejeitados.increment();
+            logger.warn("Fila de variantes de imagem cheia; o item será reprocessado pela varredura periódica");
+        }
+    }
+
+    private void processar(String descricao, Etapa etapa) {
+        long inicio = System.nanoTime();
+        try {
+            etapa.executar();
+        } catch (Exception e) {
+            falhas.increment();
+            logger.warn("Falha ao gerar variantes da {}: {}", descricao, e.getMessage());
+        } finally {
+            duracao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Etapa {
+        void executar() throws Exception;
+    }
+}
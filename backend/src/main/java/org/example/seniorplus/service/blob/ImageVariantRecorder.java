@@ -0,0 +1,35 @@
+package org.example.seniorplus.service.blob;
+
+import org.example.seniorplus.domain.VarianteImagem;
+import org.example.seniorplus.repository.IdosoRepository;
+import org.example.seniorplus.repository.ImagemRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+// Grava o resultado do pipeline de variantes; as atualizações são condicionais à URL de origem
+@Component
+public class ImageVariantRecorder {
+
+    private final ImagemRepository imagemRepository;
+    private final IdosoRepository idosoRepository;
+
+    public ImageVariantRecorder(ImagemRepository imagemRepository, IdosoRepository idosoRepository) {
+        this.imagemRepository = imagemRepository;
+        this.idosoRepository = idosoRepository;
+    }
+
+    @Transactional
+    public boolean registrarImagem(Long id, String url, Map<VarianteImagem, String> variantes) {
+        return imagemRepository.registrarVariantes(id, url,
+                variantes.get(VarianteImagem.AVATAR),
+                variantes.get(VarianteImagem.CARD),
+                variantes.get(VarianteImagem.GRANDE)) == 1;
+    }
+
+    @Transactional
+    public boolean registrarFotoIdoso(String cpf, String fotoUrl, Map<VarianteImagem, String> variantes) {
+        return idosoRepository.registrarMiniatura(cpf, fotoUrl, variantes.get(VarianteImagem.AVATAR)) == 1;
+    }
+}
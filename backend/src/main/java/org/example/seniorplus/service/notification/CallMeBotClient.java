@@ -0,0 +1,47 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.config.NotificationDispatcherProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Map;
+
+// Cliente HTTP da callmebot com timeouts próprios, usado apenas pelos workers do dispatcher
+@Component
+public class CallMeBotClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(CallMeBotClient.class);
+    private static final String API_URL = "https://api.callmebot.com/whatsapp.php";
+
+    private final RestTemplate restTemplate;
+
+    public CallMeBotClient(RestTemplateBuilder builder, NotificationDispatcherProperties properties) {
+        this.restTemplate = builder
+                .connectTimeout(properties.getConnectTimeout())
+                .readTimeout(properties.getReadTimeout())
+                .build();
+    }
+
+    public void enviar(String telefone, String texto, String apiKey) throws RestClientException {
+        URI uri = UriComponentsBuilder.fromUriString(API_URL)
+                .queryParam("phone", "{phone}")
+                .queryParam("text", "{text}")
+                .queryParam("apikey", "{apikey}")
+                .encode()
+                .buildAndExpand(Map.of("phone", telefone, "text", texto, "apikey", apiKey))
+                .toUri();
+
+        ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RestClientException("callmebot respondeu com status " + response.getStatusCode());
+        }
+        logger.debug("callmebot respondeu para phone={}: {}", telefone, response.getBody());
+    }
+}
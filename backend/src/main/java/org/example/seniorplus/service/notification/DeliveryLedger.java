@@ -0,0 +1,60 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.config.NotificationDispatcherProperties;
+import org.example.seniorplus.domain.DeliveryChannel;
+import org.example.seniorplus.domain.DeliveryStatus;
+import org.example.seniorplus.domain.DoseOccurrenceStatus;
+import org.example.seniorplus.repository.DoseOccurrenceRepository;
+import org.example.seniorplus.repository.NotificationDeliveryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro durável de entregas com chave única (medicamento, instante da dose, canal).
+ * Só quem consegue reivindicar a chave envia, o que torna seguro reprocessar uma janela
+ * após uma queda e repetir tentativas no dispatcher sem mandar a mesma dose duas vezes.
+ */
+@Component
+public class DeliveryLedger {
+
+    private final NotificationDeliveryRepository deliveryRepository;
+    private final DoseOccurrenceRepository occurrenceRepository;
+    private final NotificationDispatcherProperties properties;
+
+    public DeliveryLedger(NotificationDeliveryRepository deliveryRepository,
+                          DoseOccurrenceRepository occurrenceRepository,
+                          NotificationDispatcherProperties properties) {
+        this.deliveryRepository = deliveryRepository;
+        this.occurrenceRepository = occurrenceRepository;
+        this.properties = properties;
+    }
+
+    // Transação própria: a reivindicação precisa estar gravada antes de a mensagem sair da fila
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean reivindicar(Long medicamentoId, LocalDateTime doseAt, DeliveryChannel canal, String destino) {
+        if (deliveryRepository.inserirSeAusente(medicamentoId, doseAt, canal.name(), destino) == 1) {
+            return true;
+        }
+        long limiteMicros = properties.getClaimTimeout().toNanos() / 1000;
+        return deliveryRepository.retomarAbandonada(medicamentoId, doseAt, canal.name(), destino, limiteMicros) == 1;
+    }
+
+    @Transactional
+    public void confirmarEnvio(NotificationMessage mensagem, int tentativas) {
+        deliveryRepository.concluir(mensagem.getMedicamentoId(), mensagem.getDoseAt(), mensagem.getCanal().name(),
+                DeliveryStatus.SENT.name(), tentativas, null);
+        occurrenceRepository.atualizarStatus(mensagem.getMedicamentoId(), mensagem.getDoseAt(),
+                DoseOccurrenceStatus.NOTIFIED);
+    }
+
+    @Transactional
+    public void registrarFalha(NotificationMessage mensagem, int tentativas, String erro) {
+        deliveryRepository.concluir(mensagem.getMedicamentoId(), mensagem.getDoseAt(), mensagem.getCanal().name(),
+                DeliveryStatus.FAILED.name(), tentativas, erro);
+        occurrenceRepository.atualizarStatusSePendente(mensagem.getMedicamentoId(), mensagem.getDoseAt(),
+                DoseOccurrenceStatus.FAILED);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.seniorplus.service.notification;
+
+// Contatos do idoso que recebe o lembrete; cada canal usa o que precisa
+public final class Destinatario {
+
+    private final String cpf;
+    private final String nome;
+    private final String telefone;
+    private final String email;
+    private final String whatsappApiKey;
+
+    public Destinatario(String cpf, String nome, String telefone, String email, String whatsappApiKey) {
+        this.cpf = cpf;
+        this.nome = nome;
+        this.telefone = telefone;
+        this.email = email;
+        this.whatsappApiKey = whatsappApiKey;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getTelefone() {
+        return telefone;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getWhatsappApiKey() {
+        return whatsappApiKey;
+    }
+}
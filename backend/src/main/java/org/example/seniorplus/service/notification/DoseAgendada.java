@@ -0,0 +1,64 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.domain.CompiledSchedule;
+import org.example.seniorplus.domain.Medicamento;
+
+import java.time.LocalDate;
+
+// Retrato imutável dos dados de um medicamento necessários para gerar as ocorrências de dose,
+// mantido no DoseScheduleRegistry para que o gerador não precise reler e recompilar os horários.
+public final class DoseAgendada {
+
+    private final Long medicamentoId;
+    private final String cpf;
+    private final String nomeMedicamento;
+    private final String instrucoes;
+    private final LocalDate dataInicio;
+    private final LocalDate dataFim;
+    private final CompiledSchedule agenda;
+
+    DoseAgendada(Medicamento medicamento, CompiledSchedule agenda) {
+        this.medicamentoId = medicamento.getId();
+        this.cpf = medicamento.getCpf();
+        this.nomeMedicamento = medicamento.getNomeMedicamento();
+        this.instrucoes = medicamento.getInstrucoes();
+        this.dataInicio = medicamento.getDataInicio();
+        this.dataFim = medicamento.getDataFim();
+        this.agenda = agenda;
+    }
+
+    public Long getMedicamentoId() {
+        return medicamentoId;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public String getNomeMedicamento() {
+        return nomeMedicamento;
+    }
+
+    public String getInstrucoes() {
+        return instrucoes;
+    }
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public CompiledSchedule getAgenda() {
+        return agenda;
+    }
+
+    public boolean ativaEm(LocalDate data) {
+        if (dataInicio != null && data.isBefore(dataInicio)) {
+            return false;
+        }
+        return dataFim == null || !data.isAfter(dataFim);
+    }
+}
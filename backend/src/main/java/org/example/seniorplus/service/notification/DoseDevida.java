@@ -0,0 +1,73 @@
+package org.example.seniorplus.service.notification;
+
+import java.time.LocalDateTime;
+
+// Projeção usada pelo agendador: uma ocorrência pendente com os dados do medicamento já resolvidos
+public class DoseDevida {
+
+    private final Long occurrenceId;
+    private final Long medicamentoId;
+    private final String cpf;
+    private final int cpfHash;
+    private final LocalDateTime dueAt;
+    private final String nomeMedicamento;
+    private final String instrucoes;
+    private final boolean notificarPorEmail;
+    private final boolean notificarPorApp;
+    private final boolean notificarPorSms;
+
+    public DoseDevida(Long occurrenceId, Long medicamentoId, String cpf, int cpfHash, LocalDateTime dueAt,
+                      String nomeMedicamento, String instrucoes,
+                      boolean notificarPorEmail, boolean notificarPorApp, boolean notificarPorSms) {
+        this.occurrenceId = occurrenceId;
+        this.medicamentoId = medicamentoId;
+        this.cpf = cpf;
+        this.cpfHash = cpfHash;
+        this.dueAt = dueAt;
+        this.nomeMedicamento = nomeMedicamento;
+        this.instrucoes = instrucoes;
+        this.notificarPorEmail = notificarPorEmail;
+        this.notificarPorApp = notificarPorApp;
+        this.notificarPorSms = notificarPorSms;
+    }
+
+    public Long getOccurrenceId() {
+        return occurrenceId;
+    }
+
+    public Long getMedicamentoId() {
+        return medicamentoId;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public int getCpfHash() {
+        return cpfHash;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public String getNomeMedicamento() {
+        return nomeMedicamento;
+    }
+
+    public String getInstrucoes() {
+        return instrucoes;
+    }
+
+    public boolean isNotificarPorEmail() {
+        return notificarPorEmail;
+    }
+
+    public boolean isNotificarPorApp() {
+        return notificarPorApp;
+    }
+
+    public boolean isNotificarPorSms() {
+        return notificarPorSms;
+    }
+}
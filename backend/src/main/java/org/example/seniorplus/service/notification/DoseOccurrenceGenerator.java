@@ -0,0 +1,123 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.config.DoseOccurrenceProperties;
+import org.example.seniorplus.domain.DoseOccurrence;
+import org.example.seniorplus.domain.DoseOccurrenceStatus;
+import org.example.seniorplus.domain.Medicamento;
+import org.example.seniorplus.repository.DoseOccurrenceRepository;
+import org.example.seniorplus.repository.MedicamentoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Materializa as doses em dose_occurrences numa janela móvel à frente do relógio.
+ * A execução periódica só gera o trecho novo da janela; alterações num medicamento
+ * regeneram apenas as ocorrências pendentes daquele medicamento. Com várias réplicas,
+ * somente o líder (dono do shard 0) estende a janela.
+ */
+@Component
+public class DoseOccurrenceGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoseOccurrenceGenerator.class);
+
+    private final DoseScheduleRegistry doseScheduleRegistry;
+    private final DoseOccurrenceRepository occurrenceRepository;
+    private final DoseOccurrenceProperties properties;
+    private final MedicamentoRepository medicamentoRepository;
+    private final SchedulerLeaseManager leaseManager;
+
+    // Até onde a janela já foi gerada por esta instância (exclusivo)
+    private volatile LocalDateTime horizonteGerado;
+
+    public DoseOccurrenceGenerator(DoseScheduleRegistry doseScheduleRegistry,
+                                   DoseOccurrenceRepository occurrenceRepository,
+                                   DoseOccurrenceProperties properties,
+                                   MedicamentoRepository medicamentoRepository,
+                                   SchedulerLeaseManager leaseManager) {
+        this.doseScheduleRegistry = doseScheduleRegistry;
+        this.occurrenceRepository = occurrenceRepository;
+        this.properties = properties;
+        this.medicamentoRepository = medicamentoRepository;
+        this.leaseManager = leaseManager;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.occurrences.refresh-interval:PT15M}",
+            initialDelayString = "${notification.occurrences.refresh-interval:PT15M}")
+    public synchronized void avancarJanela() {
+        if (!leaseManager.isLider()) {
+            horizonteGerado = null;
+            return;
+        }
+        // Medicamentos podem ter sido alterados em outras réplicas: o líder ressincroniza o registro antes
+        doseScheduleRegistry.recarregar(medicamentoRepository.findAllComHorarios());
+
+        LocalDateTime agora = minutoAtual();
+        LocalDateTime inicio = horizonteGerado == null || horizonteGerado.isBefore(agora) ? agora : horizonteGerado;
+        LocalDateTime fim = agora.plus(properties.getWindow());
+        if (!inicio.isBefore(fim)) {
+            return;
+        }
+
+        List<DoseOccurrence> ocorrencias = new ArrayList<>();
+        for (DoseAgendada agenda : doseScheduleRegistry.agendas()) {
+            expandir(agenda, inicio, fim, ocorrencias);
+        }
+        int inseridas = occurrenceRepository.inserirSeAusente(ocorrencias);
+        horizonteGerado = fim;
+        logger.info("Ocorrências de dose geradas entre {} e {}: {} novas", inicio, fim, inseridas);
+    }
+
+    // Descarta as ocorrências pendentes do medicamento e gera de novo a janela atual
+    @Transactional
+    public void regenerar(Medicamento medicamento) {
+        LocalDateTime agora = minutoAtual();
+        occurrenceRepository.removerFuturas(medicamento.getId(), agora, DoseOccurrenceStatus.PENDING);
+        DoseAgendada agenda = doseScheduleRegistry.agenda(medicamento.getId());
+        if (agenda == null) {
+            return;
+        }
+        List<DoseOccurrence> ocorrencias = new ArrayList<>();
+        LocalDateTime fim = horizonteGerado != null && horizonteGerado.isAfter(agora)
+                ? horizonteGerado
+                : agora.plus(properties.getWindow());
+        expandir(agenda, agora, fim, ocorrencias);
+        occurrenceRepository.inserirSeAusente(ocorrencias);
+    }
+
+    private void expandir(DoseAgendada agenda, LocalDateTime inicio, LocalDateTime fim, List<DoseOccurrence> destino) {
+        for (LocalDate dia = inicio.toLocalDate(); !dia.atStartOfDay().isAfter(fim); dia = dia.plusDays(1)) {
+            if (!agenda.ativaEm(dia)) {
+                continue;
+            }
+            LocalDateTime inicioDoDia = dia.atStartOfDay();
+            // Salta direto para a primeira dose dentro da janela
+            int primeiro = dia.equals(inicio.toLocalDate()) ? inicio.getHour() * 60 + inicio.getMinute() - 1 : -1;
+            for (int minuto = agenda.getAgenda().nextOccurrenceAfter(primeiro);
+                 minuto >= 0;
+                 minuto = agenda.getAgenda().nextOccurrenceAfter(minuto)) {
+                LocalDateTime dueAt = inicioDoDia.plusMinutes(minuto);
+                if (!dueAt.isBefore(fim)) {
+                    break;
+                }
+                DoseOccurrence ocorrencia = new DoseOccurrence();
+                ocorrencia.setMedicamentoId(agenda.getMedicamentoId());
+                ocorrencia.setIdosoCpf(agenda.getCpf());
+                ocorrencia.setCpfHash(SchedulerLeaseManager.hashCpf(agenda.getCpf()));
+                ocorrencia.setDueAt(dueAt);
+                destino.add(ocorrencia);
+            }
+        }
+    }
+
+    private static LocalDateTime minutoAtual() {
+        return LocalDateTime.now().withSecond(0).withNano(0);
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.domain.CompiledSchedule;
+import org.example.seniorplus.domain.Medicamento;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agendas compiladas dos medicamentos, por id. É preenchida na inicialização e atualizada
+ * pelo MedicamentoService; o DoseOccurrenceGenerator lê daqui para gerar as ocorrências sem
+ * recompilar os horários. O disparo dos lembretes vem de dose_occurrences, não deste registro.
+ */
+@Component
+public class DoseScheduleRegistry {
+
+    private final Map<Long, DoseAgendada> agendas = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void recarregar(Collection<Medicamento> medicamentos) {
+        lock.writeLock().lock();
+        try {
+            agendas.clear();
+            for (Medicamento medicamento : medicamentos) {
+                inserir(medicamento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void agendar(Medicamento medicamento) {
+        Objects.requireNonNull(medicamento.getId(), "Medicamento precisa estar salvo para ser agendado");
+        lock.writeLock().lock();
+        try {
+            agendas.remove(medicamento.getId());
+            inserir(medicamento);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long medicamentoId) {
+        lock.writeLock().lock();
+        try {
+            agendas.remove(medicamentoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public DoseAgendada agenda(Long medicamentoId) {
+        lock.readLock().lock();
+        try {
+            return agendas.get(medicamentoId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Cópia das agendas atuais, usada pelo gerador de ocorrências
+    public List<DoseAgendada> agendas() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(agendas.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int totalAgendado() {
+        lock.readLock().lock();
+        try {
+            return agendas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void inserir(Medicamento medicamento) {
+        CompiledSchedule compilada = CompiledSchedule.de(medicamento);
+        if (compilada.isEmpty()) {
+            return;
+        }
+        DoseAgendada agenda = new DoseAgendada(medicamento, compilada);
+        agendas.put(agenda.getMedicamentoId(), agenda);
+    }
+}
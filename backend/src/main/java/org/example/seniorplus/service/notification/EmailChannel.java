@@ -0,0 +1,33 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.domain.DeliveryChannel;
+import org.example.seniorplus.service.EmailService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmailChannel implements NotificationChannel {
+
+    private static final String ASSUNTO = "Lembrete de medicamento";
+
+    private final EmailService emailService;
+
+    public EmailChannel(EmailService emailService) {
+        this.emailService = emailService;
+    }
+
+    @Override
+    public DeliveryChannel tipo() {
+        return DeliveryChannel.EMAIL;
+    }
+
+    @Override
+    public String destino(Destinatario destinatario) {
+        String email = destinatario.getEmail();
+        return email != null && !email.isBlank() ? email.trim() : null;
+    }
+
+    @Override
+    public void enviar(NotificationMessage mensagem) throws Exception {
+        emailService.enviarLembrete(mensagem.getDestino(), ASSUNTO, mensagem.getTexto());
+    }
+}
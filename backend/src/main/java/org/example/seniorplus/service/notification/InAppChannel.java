@@ -0,0 +1,49 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.domain.DeliveryChannel;
+import org.example.seniorplus.domain.Mensagem;
+import org.example.seniorplus.repository.IdosoRepository;
+import org.example.seniorplus.repository.MensagemRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Caixa de entrada do app: o lembrete vira uma Mensagem não lida do idoso
+@Component
+public class InAppChannel implements NotificationChannel {
+
+    private static final String REMETENTE = "SeniorPlus";
+
+    private final MensagemRepository mensagemRepository;
+    private final IdosoRepository idosoRepository;
+
+    public InAppChannel(MensagemRepository mensagemRepository, IdosoRepository idosoRepository) {
+        this.mensagemRepository = mensagemRepository;
+        this.idosoRepository = idosoRepository;
+    }
+
+    @Override
+    public DeliveryChannel tipo() {
+        return DeliveryChannel.IN_APP;
+    }
+
+    @Override
+    public String destino(Destinatario destinatario) {
+        return destinatario.getCpf();
+    }
+
+    @Override
+    @Transactional
+    public void enviar(NotificationMessage mensagem) {
+        Destinatario destinatario = mensagem.getDestinatario();
+        Mensagem inbox = new Mensagem();
+        inbox.setConteudo(mensagem.getTexto());
+        inbox.setRemetente(REMETENTE);
+        inbox.setDestinatario(destinatario.getNome() != null ? destinatario.getNome() : destinatario.getCpf());
+        inbox.setIdoso(idosoRepository.getReferenceById(destinatario.getCpf()));
+        inbox.setDataHora(LocalDateTime.now());
+        inbox.setLida(false);
+        mensagemRepository.save(inbox);
+    }
+}
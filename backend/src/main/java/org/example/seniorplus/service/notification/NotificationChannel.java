@@ -0,0 +1,18 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.domain.DeliveryChannel;
+
+/**
+ * Canal de entrega de lembretes. Implementações são beans do Spring descobertos pelo
+ * NotificationDispatcher, que dá a cada canal a sua própria fila e limite de concorrência.
+ */
+public interface NotificationChannel {
+
+    DeliveryChannel tipo();
+
+    // Endereço do destinatário neste canal, ou null se ele não puder receber por aqui
+    String destino(Destinatario destinatario);
+
+    // Lança exceção em caso de falha; o dispatcher cuida das retentativas
+    void enviar(NotificationMessage mensagem) throws Exception;
+}
@@ -0,0 +1,374 @@
+package org.example.seniorplus.service.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.seniorplus.config.NotificationChannelProperties;
+import org.example.seniorplus.config.NotificationDispatcherProperties;
+import org.example.seniorplus.domain.DeliveryChannel;
+import org.example.seniorplus.domain.NotificationDeadLetter;
+import org.example.seniorplus.repository.NotificationDeadLetterRepository;
+import org.example.seniorplus.service.ratelimit.TokenBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estágio entre o agendador e os canais de entrega: o agendador apenas enfileira e nunca
+ * bloqueia em rede. Cada canal tem a sua própria fila limitada e o seu número de workers,
+ * de modo que um canal lento não segura os demais. Lembretes do mesmo destinatário que
+ * chegam dentro de uma janela curta viram um único resumo, e cada destinatário tem um
+ * balde de fichas que limita a taxa de envio. Falhas são reagendadas com backoff
+ * exponencial e jitter; o que esgota as tentativas vai para a dead-letter e dispara o failover.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationDispatcherProperties properties;
+    private final NotificationChannelProperties channelProperties;
+    private final List<NotificationChannel> canais;
+    private final NotificationDeadLetterRepository deadLetterRepository;
+    private final DeliveryLedger deliveryLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<DeliveryChannel, Lane> lanes = new EnumMap<>(DeliveryChannel.class);
+    private final List<Thread> workers = new ArrayList<>();
+    private final Cache<String, TokenBucket> baldes;
+    private ScheduledExecutorService temporizador;
+    private volatile boolean ativo;
+
+    private Counter contadorRetentativas;
+    private Counter contadorDeadLetters;
+    private Counter contadorResumos;
+    private Counter contadorLimitados;
+
+    public NotificationDispatcher(NotificationDispatcherProperties properties,
+                                  NotificationChannelProperties channelProperties,
+                                  List<NotificationChannel> canais,
+                                  NotificationDeadLetterRepository deadLetterRepository,
+                                  DeliveryLedger deliveryLedger,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.channelProperties = channelProperties;
+        this.canais = canais;
+        this.deadLetterRepository = deadLetterRepository;
+        this.deliveryLedger = deliveryLedger;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        contadorRetentativas = meterRegistry.counter("notification.dispatcher.retries");
+        contadorDeadLetters = meterRegistry.counter("notification.dispatcher.dead.letters");
+        contadorResumos = meterRegistry.counter("notification.dispatcher.digests");
+        contadorLimitados = meterRegistry.counter("notification.dispatcher.throttled");
+
+        CustomizableThreadFactory timerFactory = new CustomizableThreadFactory("notificacao-timer-");
+        timerFactory.setDaemon(true);
+        temporizador = Executors.newSingleThreadScheduledExecutor(timerFactory);
+
+        ativo = true;
+        for (NotificationChannel canal : canais) {
+            NotificationChannelProperties.Lane config = channelProperties.lane(canal.tipo());
+            if (!config.isEnabled()) {
+                logger.info("Canal de notificação {} desabilitado", canal.tipo());
+                continue;
+            }
+            int concorrencia = config.getConcurrency() > 0 ? config.getConcurrency() : properties.getWorkers();
+            Lane lane = new Lane(canal, Math.max(1, properties.getQueueCapacity()), config.isCoalesce());
+            lanes.put(canal.tipo(), lane);
+
+            String nome = canal.tipo().name().toLowerCase();
+            Gauge.builder("notification.dispatcher.queue.size", lane.fila, BlockingQueue::size)
+                    .description("Mensagens aguardando envio")
+                    .tag("channel", nome)
+                    .register(meterRegistry);
+            lane.latenciaSucesso = Timer.builder("notification.dispatcher.send")
+                    .tag("channel", nome)
+                    .tag("result", "success")
+                    .register(meterRegistry);
+            lane.latenciaFalha = Timer.builder("notification.dispatcher.send")
+                    .tag("channel", nome)
+                    .tag("result", "failure")
+                    .register(meterRegistry);
+
+            ThreadFactory threadFactory = criarThreadFactory("notificacao-" + nome + "-");
+            for (int i = 0; i < Math.max(1, concorrencia); i++) {
+                Thread worker = threadFactory.newThread(() -> consumir(lane));
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        ativo = false;
+        workers.forEach(Thread::interrupt);
+        temporizador.shutdownNow();
+    }
+
+    public boolean isDisponivel(DeliveryChannel canal) {
+        return lanes.containsKey(canal);
+    }
+
+    public NotificationChannel canal(DeliveryChannel tipo) {
+        Lane lane = lanes.get(tipo);
+        return lane != null ? lane.canal : null;
+    }
+
+    // Não bloqueia: se a fila do canal estiver cheia a mensagem vai direto para a dead-letter
+    public boolean enfileirar(NotificationMessage mensagem) {
+        Lane lane = lanes.get(mensagem.getCanal());
+        if (lane == null) {
+            registrarDeadLetter(new Envio(List.of(mensagem)), "Canal " + mensagem.getCanal() + " indisponível");
+            return false;
+        }
+        long janela = properties.getDigestWindow().toMillis();
+        if (!lane.coalesce || janela <= 0) {
+            return oferecer(lane, new Envio(List.of(mensagem)));
+        }
+
+        // O primeiro lembrete do destinatário abre a janela; os seguintes entram no mesmo resumo
+        List<NotificationMessage> cheio = null;
+        synchronized (lane.agrupando) {
+            List<NotificationMessage> grupo = lane.agrupando.get(mensagem.getDestino());
+            if (grupo == null) {
+                grupo = new ArrayList<>();
+                lane.agrupando.put(mensagem.getDestino(), grupo);
+                temporizador.schedule(() -> fecharGrupo(lane, mensagem.getDestino()), janela, TimeUnit.MILLISECONDS);
+            }
+            grupo.add(mensagem);
+            if (grupo.size() >= Math.max(1, properties.getDigestMaxSize())) {
+                cheio = lane.agrupando.remove(mensagem.getDestino());
+            }
+        }
+        if (cheio != null) {
+            return oferecer(lane, new Envio(cheio));
+        }
+        return true;
+    }
+
+    private void fecharGrupo(Lane lane, String destino) {
+        List<NotificationMessage> grupo;
+        synchronized (lane.agrupando) {
+            grupo = lane.agrupando.remove(destino);
+        }
+        if (grupo != null && !grupo.isEmpty()) {
+            oferecer(lane, new Envio(grupo));
+        }
+    }
+
+    private boolean oferecer(Lane lane, Envio envio) {
+        if (lane.fila.offer(envio)) {
+            return true;
+        }
+        registrarDeadLetter(envio, "Fila de notificações cheia");
+        return false;
+    }
+
+    public int tamanhoFila() {
+        int total = 0;
+        for (Lane lane : lanes.values()) {
+            total += lane.fila.size();
+        }
+        return total;
+    }
+
+    private void consumir(Lane lane) {
+        while (ativo) {
+            Envio envio;
+            try {
+                envio = lane.fila.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            processar(lane, envio);
+        }
+    }
+
+    private void processar(Lane lane, Envio envio) {
+        NotificationMessage principal = envio.principal();
+        // Sem ficha para o destinatário: volta para a fila quando houver, sem contar como tentativa
+        TokenBucket balde = baldes.get(lane.canal.tipo() + ":" + principal.getDestino(),
+                chave -> new TokenBucket(properties.getRecipientBurst(), properties.getRecipientRefill()));
+        if (!balde.tentarConsumir()) {
+            contadorLimitados.increment();
+            long espera = Math.max(1, TimeUnit.NANOSECONDS.toMillis(balde.nanosAteProximaFicha()));
+            temporizador.schedule(() -> oferecer(lane, envio), espera, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        NotificationMessage mensagem = envio.mensagens.size() == 1 ? principal : montarResumo(envio.mensagens);
+        envio.tentativas++;
+        long inicio = System.nanoTime();
+        try {
+            lane.canal.enviar(mensagem);
+            lane.latenciaSucesso.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            lane.latenciaFalha.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            envio.ultimoErro = e.getMessage();
+            reagendarOuDescartar(lane, envio);
+            return;
+        }
+        for (NotificationMessage entregue : envio.mensagens) {
+            try {
+                deliveryLedger.confirmarEnvio(entregue, envio.tentativas);
+            } catch (Exception e) {
+                // A mensagem já saiu; a entrega fica PENDING e só será retomada após o limite de reivindicação
+                logger.error("Lembrete enviado mas não confirmado no registro de entregas", e);
+            }
+        }
+    }
+
+    // Um único texto para todas as doses do destinatário na janela
+    private NotificationMessage montarResumo(List<NotificationMessage> mensagens) {
+        contadorResumos.increment();
+        NotificationMessage primeira = mensagens.get(0);
+        StringBuilder texto = new StringBuilder("💊 *Lembrete de Medicamentos!*\n");
+        for (NotificationMessage mensagem : mensagens) {
+            texto.append("📌 ").append(mensagem.getResumo()).append('\n');
+        }
+        texto.append("🔔 *Não se esqueça de tomar seus remédios!*");
+        return new NotificationMessage(primeira.getMedicamentoId(), primeira.getDoseAt(), primeira.getCanal(),
+                primeira.getDestinatario(), primeira.getDestino(), texto.toString(), primeira.getResumo(),
+                primeira.getAlternativas());
+    }
+
+    private void reagendarOuDescartar(Lane lane, Envio envio) {
+        if (envio.tentativas >= properties.getMaxAttempts()) {
+            registrarDeadLetter(envio, envio.ultimoErro);
+            return;
+        }
+        long atraso = calcularBackoff(envio.tentativas);
+        contadorRetentativas.increment();
+        logger.warn("Falha ao enviar lembrete por {} para {} (tentativa {}), nova tentativa em {} ms: {}",
+                envio.principal().getCanal(), envio.principal().getDestino(), envio.tentativas, atraso, envio.ultimoErro);
+        temporizador.schedule(() -> {
+            if (!lane.fila.offer(envio)) {
+                registrarDeadLetter(envio, "Fila de notificações cheia ao reenfileirar");
+            }
+        }, atraso, TimeUnit.MILLISECONDS);
+    }
+
+    // Backoff exponencial com "equal jitter": metade fixa, metade aleatória
+    long calcularBackoff(int tentativa) {
+        long inicial = properties.getInitialBackoff().toMillis();
+        long maximo = properties.getMaxBackoff().toMillis();
+        long base = inicial << Math.min(tentativa - 1, 20);
+        base = Math.min(Math.max(base, 1), maximo);
+        long metade = base / 2;
+        return metade + ThreadLocalRandom.current().nextLong(base - metade + 1);
+    }
+
+    private void registrarDeadLetter(Envio envio, String motivo) {
+        String erro = motivo != null && motivo.length() > 500 ? motivo.substring(0, 500) : motivo;
+        for (NotificationMessage mensagem : envio.mensagens) {
+            registrarDeadLetter(mensagem, envio.tentativas, motivo, erro);
+        }
+    }
+
+    private void registrarDeadLetter(NotificationMessage mensagem, int tentativas, String motivo, String erro) {
+        contadorDeadLetters.increment();
+        logger.error("Lembrete por {} descartado para {} após {} tentativa(s): {}",
+                mensagem.getCanal(), mensagem.getDestino(), tentativas, motivo);
+        try {
+            deliveryLedger.registrarFalha(mensagem, tentativas, erro);
+        } catch (Exception e) {
+            logger.error("Não foi possível marcar a entrega como falha", e);
+        }
+        try {
+            NotificationDeadLetter deadLetter = new NotificationDeadLetter();
+            deadLetter.setMedicamentoId(mensagem.getMedicamentoId());
+            deadLetter.setChannel(mensagem.getCanal());
+            deadLetter.setDestino(mensagem.getDestino());
+            deadLetter.setConteudo(mensagem.getTexto());
+            deadLetter.setTentativas(tentativas);
+            deadLetter.setErro(erro);
+            deadLetterRepository.save(deadLetter);
+        } catch (Exception e) {
+            logger.error("Não foi possível gravar a dead-letter do lembrete", e);
+        }
+        try {
+            eventPublisher.publishEvent(new NotificationFailedEvent(mensagem));
+        } catch (Exception e) {
+            logger.error("Falha ao acionar o failover do lembrete", e);
+        }
+    }
+
+    private ThreadFactory criarThreadFactory(String prefixo) {
+        if (properties.isVirtualThreads()) {
+            try {
+                return new VirtualThreadTaskExecutor(prefixo).getVirtualThreadFactory();
+            } catch (UnsupportedOperationException e) {
+                logger.warn("Virtual threads indisponíveis nesta JVM; usando threads de plataforma.");
+            }
+        }
+        CustomizableThreadFactory factory = new CustomizableThreadFactory(prefixo);
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    private static final class Lane {
+        private final NotificationChannel canal;
+        private final BlockingQueue<Envio> fila;
+        private final boolean coalesce;
+        // Grupos abertos por destino, aguardando o fim da janela de resumo
+        private final Map<String, List<NotificationMessage>> agrupando = new HashMap<>();
+        private Timer latenciaSucesso;
+        private Timer latenciaFalha;
+
+        private Lane(NotificationChannel canal, int capacidade, boolean coalesce) {
+            this.canal = canal;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+            this.coalesce = coalesce;
+        }
+    }
+
+    // Uma ou mais doses do mesmo destinatário enviadas juntas
+    private static final class Envio {
+        private final List<NotificationMessage> mensagens;
+        private int tentativas;
+        private String ultimoErro;
+
+        private Envio(List<NotificationMessage> mensagens) {
+            this.mensagens = mensagens;
+        }
+
+        private NotificationMessage principal() {
+            return mensagens.get(0);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.seniorplus.service.notification;
+
+// Publicado pelo dispatcher quando uma mensagem esgota as tentativas no seu canal
+public class NotificationFailedEvent {
+
+    private final NotificationMessage mensagem;
+
+    public NotificationFailedEvent(NotificationMessage mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    public NotificationMessage getMensagem() {
+        return mensagem;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.domain.DeliveryChannel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Mensagem pronta para envio por um canal; montada pelo NotificationRouter e entregue pelo NotificationDispatcher
+public final class NotificationMessage {
+
+    private final Long medicamentoId;
+    private final LocalDateTime doseAt;
+    private final DeliveryChannel canal;
+    private final Destinatario destinatario;
+    private final String destino;
+    private final String texto;
+    // Linha curta usada quando vários lembretes são agrupados num resumo
+    private final String resumo;
+    // Canais a tentar, em ordem, se este esgotar as tentativas
+    private final List<DeliveryChannel> alternativas;
+
+    public NotificationMessage(Long medicamentoId, LocalDateTime doseAt, DeliveryChannel canal,
+                               Destinatario destinatario, String destino, String texto, String resumo,
+                               List<DeliveryChannel> alternativas) {
+        this.medicamentoId = medicamentoId;
+        this.doseAt = doseAt;
+        this.canal = canal;
+        this.destinatario = destinatario;
+        this.destino = destino;
+        this.texto = texto;
+        this.resumo = resumo;
+        this.alternativas = List.copyOf(alternativas);
+    }
+
+    public Long getMedicamentoId() {
+        return medicamentoId;
+    }
+
+    public LocalDateTime getDoseAt() {
+        return doseAt;
+    }
+
+    public DeliveryChannel getCanal() {
+        return canal;
+    }
+
+    public Destinatario getDestinatario() {
+        return destinatario;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public String getResumo() {
+        return resumo;
+    }
+
+    public List<DeliveryChannel> getAlternativas() {
+        return alternativas;
+    }
+}
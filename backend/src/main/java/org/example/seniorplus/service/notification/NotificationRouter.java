@@ -0,0 +1,88 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.config.NotificationChannelProperties;
+import org.example.seniorplus.domain.DeliveryChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Distribui um lembrete pelos canais pedidos no medicamento, cada um com a sua entrega
+ * no registro e a sua fila no dispatcher. Quando um canal não serve ao destinatário ou
+ * esgota as tentativas, o próximo canal da ordem de failover que não foi pedido assume.
+ */
+@Component
+public class NotificationRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRouter.class);
+
+    private final NotificationDispatcher dispatcher;
+    private final DeliveryLedger deliveryLedger;
+    private final NotificationChannelProperties properties;
+
+    public NotificationRouter(NotificationDispatcher dispatcher,
+                              DeliveryLedger deliveryLedger,
+                              NotificationChannelProperties properties) {
+        this.dispatcher = dispatcher;
+        this.deliveryLedger = deliveryLedger;
+        this.properties = properties;
+    }
+
+    public void rotear(Long medicamentoId, LocalDateTime doseAt, Destinatario destinatario,
+                       String texto, String resumo, Set<DeliveryChannel> solicitados) {
+        List<DeliveryChannel> ordem = properties.getFailoverOrder();
+        List<DeliveryChannel> reservas = new ArrayList<>();
+        for (DeliveryChannel canal : ordem) {
+            if (!solicitados.contains(canal)) {
+                reservas.add(canal);
+            }
+        }
+        for (DeliveryChannel canal : ordem) {
+            if (solicitados.contains(canal)) {
+                entregar(medicamentoId, doseAt, destinatario, texto, resumo, canal, reservas);
+            }
+        }
+    }
+
+    @EventListener
+    public void aoFalhar(NotificationFailedEvent evento) {
+        NotificationMessage mensagem = evento.getMensagem();
+        failover(mensagem.getMedicamentoId(), mensagem.getDoseAt(), mensagem.getDestinatario(),
+                mensagem.getTexto(), mensagem.getResumo(), mensagem.getCanal(), mensagem.getAlternativas());
+    }
+
+    private void entregar(Long medicamentoId, LocalDateTime doseAt, Destinatario destinatario, String texto,
+                          String resumo, DeliveryChannel canal, List<DeliveryChannel> alternativas) {
+        NotificationChannel impl = dispatcher.canal(canal);
+        String destino = impl != null ? impl.destino(destinatario) : null;
+        if (destino == null) {
+            failover(medicamentoId, doseAt, destinatario, texto, resumo, canal, alternativas);
+            return;
+        }
+        // Só envia quem reivindicar a entrega; uma dose já enviada ou em andamento neste canal é ignorada
+        if (!deliveryLedger.reivindicar(medicamentoId, doseAt, canal, destino)) {
+            return;
+        }
+        dispatcher.enfileirar(new NotificationMessage(medicamentoId, doseAt, canal, destinatario, destino,
+                texto, resumo, alternativas));
+    }
+
+    private void failover(Long medicamentoId, LocalDateTime doseAt, Destinatario destinatario, String texto,
+                          String resumo, DeliveryChannel falhou, List<DeliveryChannel> alternativas) {
+        if (alternativas.isEmpty()) {
+            logger.warn("Nenhum canal disponível para o lembrete do medicamento {} de {} (último: {})",
+                    medicamentoId, destinatario.getCpf(), falhou);
+            return;
+        }
+        DeliveryChannel proximo = alternativas.get(0);
+        logger.info("Failover do lembrete do medicamento {}: {} -> {}", medicamentoId, falhou, proximo);
+        entregar(medicamentoId, doseAt, destinatario, texto, resumo, proximo,
+                alternativas.subList(1, alternativas.size()));
+    }
+}
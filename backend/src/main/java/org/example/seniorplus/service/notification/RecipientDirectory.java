@@ -0,0 +1,67 @@
+package org.example.seniorplus.service.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.seniorplus.repository.IdosoRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contatos dos idosos usados pelo agendador, em cache por CPF. Os CPFs que faltam num
+ * tick são resolvidos com uma única consulta de projeção. O IdosoService e o CaregiverLinkService
+ * invalidam a entrada ao alterar o idoso ou o seu cuidador; a expiração cobre alterações feitas
+ * em outras réplicas.
+ */
+@Component
+public class RecipientDirectory {
+
+    private final IdosoRepository idosoRepository;
+    private final Cache<String, Destinatario> cache = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    public RecipientDirectory(IdosoRepository idosoRepository) {
+        this.idosoRepository = idosoRepository;
+    }
+
+    // CPFs sem idoso cadastrado ficam fora do mapa
+    public Map<String, Destinatario> resolver(Set<String> cpfs) {
+        if (cpfs.isEmpty()) {
+            return Map.of();
+        }
+        return cache.getAll(cpfs, this::carregar);
+    }
+
+    // Dentro de uma transação, só invalida após o commit para não recarregar o contato antigo
+    public void invalidar(String cpf) {
+        if (cpf == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(cpf);
+                }
+            });
+            return;
+        }
+        cache.invalidate(cpf);
+    }
+
+    private Map<String, Destinatario> carregar(Collection<? extends String> cpfs) {
+        Map<String, Destinatario> encontrados = new HashMap<>();
+        for (Destinatario destinatario : idosoRepository.findDestinatarios(Set.copyOf(cpfs))) {
+            encontrados.put(destinatario.getCpf(), destinatario);
+        }
+        return encontrados;
+    }
+}
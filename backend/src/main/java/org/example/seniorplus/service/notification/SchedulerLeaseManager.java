@@ -0,0 +1,212 @@
+package org.example.seniorplus.service.notification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.seniorplus.config.SchedulerProperties;
+import org.example.seniorplus.domain.SchedulerLease;
+import org.example.seniorplus.repository.SchedulerLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Distribui os shards de CPF entre as réplicas por meio de concessões (leases) com prazo
+ * na tabela scheduler_leases. Cada réplica renova as suas, toma shards vencidos até a
+ * sua cota justa e devolve o excedente, de modo que cada lembrete tem um único dono.
+ * O dono do shard 0 atua como líder das tarefas globais (geração de ocorrências).
+ */
+@Component
+public class SchedulerLeaseManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLeaseManager.class);
+    private static final int SHARD_LIDER = 0;
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final SchedulerProperties properties;
+    private final String instanceId;
+
+    private volatile Set<Integer> shards = Collections.emptySet();
+    // Prazo local (System.nanoTime) até o qual as concessões lidas são consideradas válidas
+    private volatile long validoAte;
+    private volatile boolean shardsCriados;
+    // Última marca d'água gravada por esta réplica, usada no gauge de atraso
+    private volatile LocalDateTime ultimaMarca;
+
+    public SchedulerLeaseManager(SchedulerLeaseRepository leaseRepository,
+                                 SchedulerProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.leaseRepository = leaseRepository;
+        this.properties = properties;
+        this.instanceId = resolverInstanceId(properties.getInstanceId());
+        Gauge.builder("notification.scheduler.shards.owned", this, manager -> manager.shardsAtivos().size())
+                .description("Shards de lembrete atualmente sob a concessão desta réplica")
+                .register(meterRegistry);
+        Gauge.builder("notification.scheduler.lag", this, SchedulerLeaseManager::atrasoEmSegundos)
+                .description("Segundos desde o fim do último minuto processado pelo agendador desta réplica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${notification.scheduler.renew-interval:PT10S}",
+            initialDelayString = "${notification.scheduler.renew-interval:PT10S}")
+    public void renovar() {
+        int total = totalShards();
+        long duracaoMicros = properties.getLeaseDuration().toNanos() / 1000;
+        // Conta o prazo a partir de antes da ida ao banco, para errar a favor da segurança
+        long novoPrazo = System.nanoTime() + properties.getLeaseDuration().toNanos()
+                - properties.getRenewInterval().toNanos();
+
+        if (!shardsCriados) {
+            for (int shard = 0; shard < total; shard++) {
+                leaseRepository.criarSeAusente(shard);
+            }
+            shardsCriados = true;
+        }
+
+        leaseRepository.renovar(instanceId, duracaoMicros, total);
+        Set<Integer> proprios = new LinkedHashSet<>(leaseRepository.findShardsAtivos(instanceId, total));
+
+        long donos = leaseRepository.countDonosAtivos();
+        if (proprios.isEmpty()) {
+            donos++;
+        }
+        int cotaJusta = (int) ((total + donos - 1) / Math.max(1, donos));
+
+        if (proprios.size() < cotaJusta) {
+            List<Integer> livres = leaseRepository.findShardsLivres(total);
+            for (Integer shard : livres) {
+                if (proprios.size() >= cotaJusta) {
+                    break;
+                }
+                if (leaseRepository.reivindicar(shard, instanceId, duracaoMicros) == 1) {
+                    proprios.add(shard);
+                    logger.info("Réplica {} assumiu o shard {}", instanceId, shard);
+                }
+            }
+        } else if (proprios.size() > cotaJusta) {
+            // Devolve o excedente para que réplicas novas recebam a sua parte
+            Integer[] ordenados = proprios.toArray(new Integer[0]);
+            for (int i = ordenados.length - 1; i >= 0 && proprios.size() > cotaJusta; i--) {
+                if (ordenados[i] == SHARD_LIDER) {
+                    continue;
+                }
+                leaseRepository.liberar(ordenados[i], instanceId);
+                proprios.remove(ordenados[i]);
+                logger.info("Réplica {} liberou o shard {}", instanceId, ordenados[i]);
+            }
+        }
+
+        shards = Collections.unmodifiableSet(proprios);
+        validoAte = novoPrazo;
+    }
+
+    // Evento em vez de @PreDestroy para passar pelo proxy transacional enquanto o DataSource ainda está aberto
+    @Transactional
+    @EventListener(ContextClosedEvent.class)
+    public void encerrar() {
+        shards = Collections.emptySet();
+        try {
+            leaseRepository.liberarTodos(instanceId);
+        } catch (Exception e) {
+            logger.warn("Não foi possível liberar as concessões de {}: {}", instanceId, e.getMessage());
+        }
+    }
+
+    // Shards que esta réplica pode processar agora; vazio se a última renovação já venceu
+    public Set<Integer> shardsAtivos() {
+        if (System.nanoTime() - validoAte > 0) {
+            return Collections.emptySet();
+        }
+        return shards;
+    }
+
+    // Último minuto já processado (inclusive) por shard; null para shards nunca processados
+    @Transactional(readOnly = true)
+    public Map<Integer, LocalDateTime> marcas(Set<Integer> shardsConsultados) {
+        Map<Integer, LocalDateTime> marcas = new HashMap<>();
+        for (SchedulerLease lease : leaseRepository.findAllById(shardsConsultados)) {
+            marcas.put(lease.getShard(), lease.getHighWaterMark());
+        }
+        return marcas;
+    }
+
+    // Cada shard avança até o último minuto que processou por inteiro; shards com a mesma marca vão num UPDATE
+    @Transactional
+    public void registrarProgresso(Map<Integer, LocalDateTime> marcasPorShard) {
+        if (marcasPorShard.isEmpty()) {
+            return;
+        }
+        Map<LocalDateTime, Set<Integer>> shardsPorMarca = new HashMap<>();
+        for (Map.Entry<Integer, LocalDateTime> entrada : marcasPorShard.entrySet()) {
+            shardsPorMarca.computeIfAbsent(entrada.getValue(), m -> new LinkedHashSet<>()).add(entrada.getKey());
+        }
+        LocalDateTime menor = null;
+        for (Map.Entry<LocalDateTime, Set<Integer>> grupo : shardsPorMarca.entrySet()) {
+            leaseRepository.avancarMarca(grupo.getValue(), instanceId, grupo.getKey());
+            if (menor == null || grupo.getKey().isBefore(menor)) {
+                menor = grupo.getKey();
+            }
+        }
+        // O atraso exposto é o do shard mais atrasado
+        ultimaMarca = menor;
+    }
+
+    private double atrasoEmSegundos() {
+        LocalDateTime marca = ultimaMarca;
+        if (marca == null || shardsAtivos().isEmpty()) {
+            return 0;
+        }
+        long segundos = Duration.between(marca.plusMinutes(1), LocalDateTime.now()).getSeconds();
+        return Math.max(0, segundos);
+    }
+
+    public boolean isLider() {
+        return shardsAtivos().contains(SHARD_LIDER);
+    }
+
+    public int totalShards() {
+        return Math.max(1, properties.getShards());
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    // Hash estável (CRC32) do CPF; deve coincidir com CRC32(idoso_cpf) & 0x7fffffff no MySQL
+    public static int hashCpf(String cpf) {
+        CRC32 crc = new CRC32();
+        crc.update(cpf.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() & 0x7fffffff);
+    }
+
+    private static String resolverInstanceId(String configurado) {
+        if (configurado != null && !configurado.isBlank()) {
+            return configurado.trim();
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "replica";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.domain.DeliveryChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Ainda sem provedor de SMS: só registra no log. Desabilitado por padrão em notification.channels.lanes.sms
+@Component
+public class SmsChannel implements NotificationChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsChannel.class);
+
+    @Override
+    public DeliveryChannel tipo() {
+        return DeliveryChannel.SMS;
+    }
+
+    @Override
+    public String destino(Destinatario destinatario) {
+        String telefone = destinatario.getTelefone();
+        return telefone != null && !telefone.isBlank() ? telefone : null;
+    }
+
+    @Override
+    public void enviar(NotificationMessage mensagem) {
+        logger.info("SMS (stub) para {}: {}", mensagem.getDestino(), mensagem.getTexto());
+    }
+}
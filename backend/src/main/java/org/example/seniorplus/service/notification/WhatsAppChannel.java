@@ -0,0 +1,46 @@
+package org.example.seniorplus.service.notification;
+
+import org.example.seniorplus.config.ZapWhatsAppProperties;
+import org.example.seniorplus.domain.DeliveryChannel;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WhatsAppChannel implements NotificationChannel {
+
+    private final CallMeBotClient callMeBotClient;
+    private final ZapWhatsAppProperties zapProperties;
+
+    public WhatsAppChannel(CallMeBotClient callMeBotClient, ZapWhatsAppProperties zapProperties) {
+        this.callMeBotClient = callMeBotClient;
+        this.zapProperties = zapProperties;
+    }
+
+    @Override
+    public DeliveryChannel tipo() {
+        return DeliveryChannel.WHATSAPP;
+    }
+
+    @Override
+    public String destino(Destinatario destinatario) {
+        String telefone = destinatario.getTelefone();
+        if (telefone == null || telefone.isBlank() || apiKey(destinatario) == null) {
+            return null;
+        }
+        return telefone;
+    }
+
+    @Override
+    public void enviar(NotificationMessage mensagem) {
+        callMeBotClient.enviar(mensagem.getDestino(), mensagem.getTexto(), apiKey(mensagem.getDestinatario()));
+    }
+
+    // A chave do próprio idoso tem prioridade; a chave global de zap.whatsapp é o fallback
+    private String apiKey(Destinatario destinatario) {
+        String chave = destinatario.getWhatsappApiKey();
+        if (chave != null && !chave.isBlank()) {
+            return chave;
+        }
+        String global = zapProperties.getApiKey();
+        return global != null && !global.isBlank() ? global : null;
+    }
+}
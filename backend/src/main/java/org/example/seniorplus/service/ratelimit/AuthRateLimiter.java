@@ -0,0 +1,79 @@
+package org.example.seniorplus.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.seniorplus.config.AuthProtectionProperties;
+import org.example.seniorplus.exception.SobrecargaException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limita tentativas de login e cadastro com um balde de fichas por IP e outro por conta (e-mail).
+ * Roda antes do BCrypt, então uma rajada recusada não consome CPU de hash. O IP é o do cliente
+ * (atrás do nginx vem de X-Forwarded-For, ver server.tomcat.remoteip.*); o /refresh também
+ * tem um balde por família de refresh tokens.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private final AuthProtectionProperties properties;
+    private final Cache<String, TokenBucket> porIp;
+    private final Cache<String, TokenBucket> porConta;
+    private final Cache<String, TokenBucket> porSessao;
+    private final Counter limitadosIp;
+    private final Counter limitadosConta;
+    private final Counter limitadosSessao;
+
+    public AuthRateLimiter(AuthProtectionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.porIp = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+        this.porConta = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+        this.porSessao = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+        this.limitadosIp = meterRegistry.counter("auth.rate.limited", "scope", "ip");
+        this.limitadosConta = meterRegistry.counter("auth.rate.limited", "scope", "account");
+        this.limitadosSessao = meterRegistry.counter("auth.rate.limited", "scope", "session");
+    }
+
+    public void verificar(String ip, String email) {
+        if (ip != null) {
+            TokenBucket balde = porIp.get(ip,
+                    chave -> new TokenBucket(properties.getIpBurst(), properties.getIpRefill()));
+            consumir(balde, limitadosIp);
+        }
+        if (email != null && !email.isBlank()) {
+            TokenBucket balde = porConta.get(email.trim().toLowerCase(Locale.ROOT),
+                    chave -> new TokenBucket(properties.getAccountBurst(), properties.getAccountRefill()));
+            consumir(balde, limitadosConta);
+        }
+    }
+
+    // Renovações de uma mesma sessão (família de refresh tokens), independentemente do IP
+    public void verificarSessao(String familia) {
+        if (familia == null) {
+            return;
+        }
+        TokenBucket balde = porSessao.get(familia,
+                chave -> new TokenBucket(properties.getRefreshBurst(), properties.getRefreshRefill()));
+        consumir(balde, limitadosSessao);
+    }
+
+    private void consumir(TokenBucket balde, Counter limitados) {
+        if (!balde.tentarConsumir()) {
+            limitados.increment();
+            throw SobrecargaException.limiteExcedido(Duration.ofNanos(balde.nanosAteProximaFicha()));
+        }
+    }
+}
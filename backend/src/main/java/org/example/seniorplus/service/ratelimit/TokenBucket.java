@@ -0,0 +1,50 @@
+package org.example.seniorplus.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Balde de fichas clássico: até {@code capacidade} fichas, repostas uma a cada
+ * {@code intervaloReposicao}. Pensado para um balde por chave (destinatário, IP, conta),
+ * guardado num cache com expiração.
+ */
+public class TokenBucket {
+
+    private final int capacidade;
+    private final long nanosPorFicha;
+    private double fichas;
+    private long ultimaReposicao;
+
+    public TokenBucket(int capacidade, Duration intervaloReposicao) {
+        this.capacidade = Math.max(1, capacidade);
+        this.nanosPorFicha = Math.max(1, intervaloReposicao.toNanos());
+        this.fichas = this.capacidade;
+        this.ultimaReposicao = System.nanoTime();
+    }
+
+    public synchronized boolean tentarConsumir() {
+        repor();
+        if (fichas >= 1) {
+            fichas -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    // Tempo até a próxima ficha ficar disponível (zero se já houver uma)
+    public synchronized long nanosAteProximaFicha() {
+        repor();
+        if (fichas >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - fichas) * nanosPorFicha);
+    }
+
+    private void repor() {
+        long agora = System.nanoTime();
+        long decorrido = agora - ultimaReposicao;
+        if (decorrido > 0) {
+            fichas = Math.min(capacidade, fichas + (double) decorrido / nanosPorFicha);
+            ultimaReposicao = agora;
+        }
+    }
+}
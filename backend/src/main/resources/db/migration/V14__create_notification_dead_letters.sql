@@ -0,0 +1,12 @@
+CREATE TABLE notification_dead_letters (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    medicamento_id BIGINT NULL,
+    destino VARCHAR(32),
+    conteudo TEXT,
+    tentativas INT NOT NULL,
+    erro VARCHAR(500),
+    created_at DATETIME NULL,
+    updated_at DATETIME NULL
+);
+
+CREATE INDEX idx_dead_letters_created_at ON notification_dead_letters (created_at);
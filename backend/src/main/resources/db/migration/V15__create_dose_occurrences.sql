@@ -0,0 +1,16 @@
+CREATE TABLE dose_occurrences (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    medicamento_id BIGINT NOT NULL,
+    idoso_cpf VARCHAR(14) NOT NULL,
+    due_at DATETIME NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at DATETIME NULL,
+    updated_at DATETIME NULL,
+    CONSTRAINT uk_dose_occurrence_medicamento_due UNIQUE (medicamento_id, due_at),
+    CONSTRAINT fk_dose_occurrence_medicamento FOREIGN KEY (medicamento_id)
+        REFERENCES medicamentos(id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX idx_dose_occurrences_due_status ON dose_occurrences (due_at, status);
+CREATE INDEX idx_dose_occurrences_idoso_due ON dose_occurrences (idoso_cpf, due_at);
@@ -0,0 +1,13 @@
+CREATE TABLE scheduler_leases (
+    shard INT NOT NULL PRIMARY KEY,
+    owner VARCHAR(100) NULL,
+    expires_at DATETIME(3) NULL,
+    created_at DATETIME NULL,
+    updated_at DATETIME NULL
+);
+
+CREATE INDEX idx_scheduler_leases_owner ON scheduler_leases (owner, expires_at);
+
+-- Hash estável do CPF (CRC32) usado para distribuir as ocorrências entre os shards
+ALTER TABLE dose_occurrences ADD COLUMN cpf_hash INT NOT NULL DEFAULT 0;
+UPDATE dose_occurrences SET cpf_hash = CRC32(idoso_cpf) & 2147483647;
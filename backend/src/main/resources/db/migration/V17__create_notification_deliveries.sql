@@ -0,0 +1,17 @@
+CREATE TABLE notification_deliveries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    medicamento_id BIGINT NOT NULL,
+    dose_at DATETIME NOT NULL,
+    channel VARCHAR(20) NOT NULL,
+    destino VARCHAR(120),
+    status VARCHAR(20) NOT NULL,
+    tentativas INT NOT NULL DEFAULT 0,
+    claimed_at DATETIME(3) NOT NULL,
+    sent_at DATETIME(3) NULL,
+    erro VARCHAR(500),
+    created_at DATETIME NULL,
+    updated_at DATETIME NULL,
+    CONSTRAINT uk_notification_delivery UNIQUE (medicamento_id, dose_at, channel)
+);
+
+CREATE INDEX idx_notification_deliveries_status_claimed ON notification_deliveries (status, claimed_at);
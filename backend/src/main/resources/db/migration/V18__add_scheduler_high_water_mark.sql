@@ -0,0 +1,2 @@
+-- Último minuto já processado pelo agendador em cada shard (inclusive)
+ALTER TABLE scheduler_leases ADD COLUMN high_water_mark DATETIME NULL;
@@ -0,0 +1,9 @@
+-- Chave do callmebot em coluna própria (antes era lida de observacao)
+ALTER TABLE idosos ADD COLUMN whatsapp_api_key VARCHAR(64) NULL;
+
+UPDATE idosos
+SET whatsapp_api_key = TRIM(observacao)
+WHERE observacao REGEXP '^[[:space:]]*[0-9]{4,12}[[:space:]]*$';
+
+ALTER TABLE notification_dead_letters ADD COLUMN channel VARCHAR(20) NULL;
+ALTER TABLE notification_dead_letters MODIFY destino VARCHAR(120);
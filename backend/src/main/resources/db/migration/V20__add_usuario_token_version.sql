@@ -0,0 +1,2 @@
+-- Versão dos tokens do usuário: incrementada para invalidar JWTs já emitidos (ex.: troca de senha)
+ALTER TABLE usuarios ADD COLUMN token_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,28 @@
+-- Refresh tokens opacos (guardamos só o SHA-256); cada login abre uma família e cada uso rotaciona o token
+CREATE TABLE refresh_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    usuario_id BIGINT NOT NULL,
+    token_hash CHAR(64) NOT NULL,
+    familia CHAR(36) NOT NULL,
+    expires_at DATETIME NOT NULL,
+    revoked_at DATETIME(3) NULL,
+    access_jti CHAR(36) NULL,
+    access_expires_at DATETIME NULL,
+    created_at DATETIME NULL,
+    updated_at DATETIME NULL,
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_tokens_familia ON refresh_tokens (familia);
+CREATE INDEX idx_refresh_tokens_usuario ON refresh_tokens (usuario_id);
+
+-- Access tokens revogados antes de expirar; as réplicas leem as linhas novas por polling
+CREATE TABLE revoked_tokens (
+    jti CHAR(36) PRIMARY KEY,
+    expires_at DATETIME NOT NULL,
+    revoked_at DATETIME(3) NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
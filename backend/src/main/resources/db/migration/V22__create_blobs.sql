@@ -0,0 +1,8 @@
+-- Metadados do armazenamento de blobs endereçado por conteúdo (o arquivo fica no BlobStore)
+CREATE TABLE blobs (
+    hash CHAR(64) PRIMARY KEY,
+    content_type VARCHAR(100) NOT NULL,
+    tamanho BIGINT NOT NULL,
+    created_at DATETIME NULL,
+    updated_at DATETIME NULL
+);
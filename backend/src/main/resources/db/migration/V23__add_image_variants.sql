@@ -0,0 +1,8 @@
+-- Variantes redimensionadas geradas em segundo plano (referências /api/v1/blobs/{hash})
+ALTER TABLE imagens
+    ADD COLUMN url_avatar VARCHAR(100) NULL,
+    ADD COLUMN url_card VARCHAR(100) NULL,
+    ADD COLUMN url_grande VARCHAR(100) NULL;
+
+ALTER TABLE idosos
+    ADD COLUMN foto_miniatura_url VARCHAR(100) NULL;
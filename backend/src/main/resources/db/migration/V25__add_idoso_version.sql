@@ -0,0 +1,3 @@
+-- Versionamento otimista de idosos; os UPDATEs condicionais do vínculo com cuidador também incrementam a versão
+ALTER TABLE idosos
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
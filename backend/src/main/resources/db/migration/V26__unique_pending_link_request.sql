@@ -0,0 +1,16 @@
+-- No máximo uma solicitação pendente por (idoso, cuidador); pendências duplicadas antigas ficam recusadas
+UPDATE caregiver_link_requests r
+    JOIN (SELECT idoso_cpf, cuidador_cpf, MAX(id) AS manter
+          FROM caregiver_link_requests
+          WHERE status = 'PENDING'
+          GROUP BY idoso_cpf, cuidador_cpf
+          HAVING COUNT(*) > 1) d
+        ON d.idoso_cpf = r.idoso_cpf AND d.cuidador_cpf = r.cuidador_cpf
+SET r.status = 'REJECTED', r.responded_at = NOW()
+WHERE r.status = 'PENDING' AND r.id < d.manter;
+
+-- Coluna gerada só para pendentes: NULL nas demais, que o índice único não compara entre si
+ALTER TABLE caregiver_link_requests
+    ADD COLUMN pending_key VARCHAR(29)
+        GENERATED ALWAYS AS (CASE WHEN status = 'PENDING' THEN CONCAT(idoso_cpf, ':', cuidador_cpf) END) VIRTUAL,
+    ADD UNIQUE INDEX uk_link_request_pendente (pending_key);
@@ -0,0 +1,12 @@
+-- Quem enviou um arquivo pelo POST /api/v1/blobs pode lê-lo antes de referenciá-lo em algum registro
+CREATE TABLE blob_acessos (
+    hash CHAR(64) NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    created_at DATETIME NULL,
+    PRIMARY KEY (hash, usuario_id),
+    CONSTRAINT fk_blob_acessos_blob FOREIGN KEY (hash) REFERENCES blobs (hash),
+    CONSTRAINT fk_blob_acessos_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id) ON DELETE CASCADE
+);
+
+-- A verificação de acesso aos blobs percorre as imagens do próprio usuário e dos idosos sob seus cuidados
+CREATE INDEX idx_imagens_cpf ON imagens (cpf);
@@ -0,0 +1,56 @@
+package org.example.seniorplus.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CpfTest {
+
+    @Test
+    void aceitaEntradaComOuSemMascara() {
+        assertThat(Cpf.of("529.982.247-25").valor()).isEqualTo("52998224725");
+        assertThat(Cpf.of(" 529 982 247 25 ").valor()).isEqualTo("52998224725");
+        assertThat(Cpf.of("52998224725")).isEqualTo(Cpf.of("529.982.247-25"));
+        assertThat(Cpf.of("52998224725").formatado()).isEqualTo("529.982.247-25");
+    }
+
+    @Test
+    void rejeitaTamanhoErrado() {
+        assertThatThrownBy(() -> Cpf.of("529.982.247-2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cpf.of("529.982.247-255")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(Cpf.parse("")).isNull();
+        assertThat(Cpf.parse(null)).isNull();
+    }
+
+    @Test
+    void normalizacaoTolerantePreservaValoresForaDoFormato() {
+        assertThat(Cpf.normalizar("111.444.777-35")).isEqualTo("11144477735");
+        assertThat(Cpf.normalizar(" 123.456 ")).isEqualTo("123.456");
+        assertThat(Cpf.normalizar(null)).isNull();
+    }
+
+    @Test
+    void conversorGravaEAceitaSoAFormaCanonica() {
+        CpfConverter conversor = new CpfConverter();
+        assertThat(conversor.convertToDatabaseColumn(Cpf.of("529.982.247-25"))).isEqualTo("52998224725");
+        assertThat(conversor.convertToEntityAttribute("52998224725")).isEqualTo(Cpf.of("52998224725"));
+        assertThat(conversor.convertToEntityAttribute(null)).isNull();
+        assertThatThrownBy(() -> conversor.convertToEntityAttribute("123.456"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sequenciasRepetidasSaoInvalidas() {
+        assertThat(Cpf.of("000.000.000-00").isValido()).isFalse();
+        assertThat(Cpf.of("11111111111").isValido()).isFalse();
+    }
+
+    @Test
+    void confereOsDigitosVerificadores() {
+        assertThat(Cpf.of("529.982.247-25").isValido()).isTrue();
+        assertThat(Cpf.of("111.444.777-35").isValido()).isTrue();
+        assertThat(Cpf.of("529.982.247-24").isValido()).isFalse();
+        assertThat(Cpf.of("111.444.777-53").isValido()).isFalse();
+    }
+}
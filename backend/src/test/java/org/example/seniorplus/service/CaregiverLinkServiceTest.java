@@ -0,0 +1,164 @@
+package org.example.seniorplus.service;
+
+import org.example.seniorplus.domain.CaregiverLinkRequest;
+import org.example.seniorplus.domain.CaregiverLinkStatus;
+import org.example.seniorplus.dto.CaregiverLinkRequestDto;
+import org.example.seniorplus.repository.CaregiverLinkRequestRepository;
+import org.example.seniorplus.repository.CuidadorRepository;
+import org.example.seniorplus.repository.IdosoRepository;
+import org.example.seniorplus.repository.UsuarioRepository;
+import org.example.seniorplus.service.notification.RecipientDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+// Testes de unidade com repositórios simulados. Os de listagem só verificam a delegação do serviço
+// ao método de projeção do repositório; não cobrem o N+1, porque quantos SQLs a projeção emite
+// depende do Hibernate e de um banco real, que estes testes não usam. Pelo mesmo motivo, o teste de
+// aceites simultâneos não prova a atomicidade do MySQL: verifica que o serviço decide só pelas
+// linhas afetadas
+class CaregiverLinkServiceTest {
+
+    private static final String CUIDADOR = "52998224725";
+    private static final String IDOSO = "11144477735";
+
+    private CaregiverLinkRequestRepository requestRepository;
+    private IdosoRepository idosoRepository;
+    private CuidadorRepository cuidadorRepository;
+    private CaregiverLinkService service;
+
+    @BeforeEach
+    void setUp() {
+        requestRepository = mock(CaregiverLinkRequestRepository.class);
+        idosoRepository = mock(IdosoRepository.class);
+        cuidadorRepository = mock(CuidadorRepository.class);
+        service = new CaregiverLinkService(requestRepository, idosoRepository, cuidadorRepository,
+                mock(UsuarioRepository.class), mock(IdosoService.class), mock(RecipientDirectory.class));
+    }
+
+    @Test
+    void listarSolicitacoesDoCuidadorDelegaAProjecao() {
+        when(requestRepository.findResumosPorCuidador(CUIDADOR)).thenReturn(solicitacoes(50));
+
+        List<CaregiverLinkRequestDto> resultado = service.listarSolicitacoesDoCuidador("529.982.247-25");
+
+        assertThat(resultado).hasSize(50);
+        assertThat(resultado.get(0).getIdosoNome()).isEqualTo("Idoso 0");
+        verify(requestRepository).findResumosPorCuidador(CUIDADOR);
+        verifyNoMoreInteractions(requestRepository);
+        verifyNoInteractions(idosoRepository, cuidadorRepository);
+    }
+
+    @Test
+    void listarPendentesParaIdosoDelegaAProjecao() {
+        when(requestRepository.findResumosPorIdosoEStatus(IDOSO, CaregiverLinkStatus.PENDING))
+                .thenReturn(solicitacoes(50));
+
+        List<CaregiverLinkRequestDto> resultado = service.listarPendentesParaIdoso("111.444.777-35");
+
+        assertThat(resultado).hasSize(50);
+        assertThat(resultado.get(0).getCuidadorNome()).isEqualTo("Cuidador");
+        verify(requestRepository).findResumosPorIdosoEStatus(IDOSO, CaregiverLinkStatus.PENDING);
+        verifyNoMoreInteractions(requestRepository);
+        verifyNoInteractions(idosoRepository, cuidadorRepository);
+    }
+
+    @Test
+    void aceitesSimultaneosRespeitamAsLinhasAfetadasPelosUpdatesCondicionais() throws Exception {
+        int concorrentes = 16;
+        // Os UPDATEs condicionais são simulados em memória, com a semântica que o WHERE teria no banco;
+        // o serviço não pode vincular nem aceitar quando a contagem de linhas afetadas vier zerada
+        AtomicReference<String> cuidadorDoIdoso = new AtomicReference<>();
+        Map<Long, CaregiverLinkStatus> status = new ConcurrentHashMap<>();
+        for (long id = 1; id <= concorrentes; id++) {
+            status.put(id, CaregiverLinkStatus.PENDING);
+        }
+        when(requestRepository.findById(anyLong())).thenAnswer(inv -> {
+            Long id = inv.getArgument(0);
+            CaregiverLinkRequest request = new CaregiverLinkRequest();
+            request.setId(id);
+            request.setIdosoCpf(IDOSO);
+            request.setCuidadorCpf("cuidador-" + id);
+            request.setStatus(status.get(id));
+            return Optional.of(request);
+        });
+        when(idosoRepository.vincularCuidadorSeLivre(anyString(), anyString(), any()))
+                .thenAnswer(inv -> cuidadorDoIdoso.compareAndSet(null, inv.getArgument(1)) ? 1 : 0);
+        when(requestRepository.responderSePendente(anyLong(), anyString(), any(), any()))
+                .thenAnswer(inv -> status.replace(inv.getArgument(0), CaregiverLinkStatus.PENDING, inv.getArgument(2)) ? 1 : 0);
+        when(requestRepository.recusarOutrasPendentes(anyString(), anyLong(), any())).thenAnswer(inv -> {
+            Long aceita = inv.getArgument(1);
+            int recusadas = 0;
+            for (Long id : status.keySet()) {
+                if (!id.equals(aceita) && status.replace(id, CaregiverLinkStatus.PENDING, CaregiverLinkStatus.REJECTED)) {
+                    recusadas++;
+                }
+            }
+            return recusadas;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(concorrentes);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (long id = 1; id <= concorrentes; id++) {
+            long solicitacao = id;
+            resultados.add(pool.submit(() -> {
+                largada.await();
+                try {
+                    service.responderSolicitacao(solicitacao, IDOSO, true);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+        largada.countDown();
+
+        int vencedores = 0;
+        for (Future<Boolean> resultado : resultados) {
+            if (resultado.get(10, TimeUnit.SECONDS)) {
+                vencedores++;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(vencedores).isEqualTo(1);
+        assertThat(status.values()).containsOnlyOnce(CaregiverLinkStatus.ACCEPTED)
+                .doesNotContain(CaregiverLinkStatus.PENDING);
+        Long aceita = status.entrySet().stream()
+                .filter(e -> e.getValue() == CaregiverLinkStatus.ACCEPTED)
+                .findFirst().orElseThrow().getKey();
+        assertThat(cuidadorDoIdoso.get()).isEqualTo("cuidador-" + aceita);
+    }
+
+    private static List<CaregiverLinkRequestDto> solicitacoes(int total) {
+        List<CaregiverLinkRequestDto> lista = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            lista.add(new CaregiverLinkRequestDto((long) i, IDOSO, CUIDADOR, "Cuidador", "Idoso " + i,
+                    CaregiverLinkStatus.PENDING, LocalDateTime.now(), null, null));
+        }
+        return lista;
+    }
+}
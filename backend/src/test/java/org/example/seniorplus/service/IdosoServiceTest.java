@@ -0,0 +1,81 @@
+package org.example.seniorplus.service;
+
+import org.example.seniorplus.domain.Idoso;
+import org.example.seniorplus.repository.IdosoRepository;
+import org.example.seniorplus.service.blob.BlobService;
+import org.example.seniorplus.service.blob.ImageVariantPipeline;
+import org.example.seniorplus.service.notification.RecipientDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Uma edição baseada numa versão antiga do idoso não pode sobrescrever a que veio depois
+@ExtendWith(MockitoExtension.class)
+class IdosoServiceTest {
+
+    private static final String CPF = "11144477735";
+
+    @Mock
+    private IdosoRepository repository;
+    @Mock
+    private RecipientDirectory recipientDirectory;
+    @Mock
+    private BlobService blobService;
+    @Mock
+    private ImageVariantPipeline variantPipeline;
+
+    @InjectMocks
+    private IdosoService service;
+
+    private Idoso atual;
+
+    @BeforeEach
+    void setUp() {
+        atual = new Idoso();
+        atual.setCpf(CPF);
+        atual.setNome("Nome atual");
+        atual.setVersion(3L);
+        when(repository.findById(CPF)).thenReturn(Optional.of(atual));
+    }
+
+    @Test
+    void recusaAtualizacaoComVersaoAntiga() {
+        Idoso edicao = edicao(2L);
+
+        assertThatThrownBy(() -> service.atualizar(CPF, edicao))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(repository, never()).save(any());
+        assertThat(atual.getNome()).isEqualTo("Nome atual");
+    }
+
+    @Test
+    void aplicaAtualizacaoComVersaoAtual() {
+        when(repository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        Idoso salvo = service.atualizar(CPF, edicao(3L));
+
+        assertThat(salvo.getNome()).isEqualTo("Nome novo");
+        verify(repository).save(atual);
+    }
+
+    private static Idoso edicao(Long versao) {
+        Idoso edicao = new Idoso();
+        edicao.setCpf(CPF);
+        edicao.setNome("Nome novo");
+        edicao.setVersion(versao);
+        return edicao;
+    }
+}
@@ -25,6 +25,8 @@ const emptyForm = {
   fotoUrl: "",
   nomeContatoEmergencia: "",
   contatoEmergencia: "",
+  // Versão lida do backend; volta no PUT para detectar edição simultânea (409)
+  version: null,
 }
 
 const SUPPORTED_PHOTO_TYPES = ["image/png", "image/jpeg", "image/webp"]
@@ -180,6 +182,7 @@ const mapApiToForm = (idoso) => {
     imc: calcularImc(peso, alturaCm) || idoso?.imc || "",
     nomeContatoEmergencia: idoso?.nomeContatoEmergencia || "",
     contatoEmergencia: idoso?.contatoEmergencia || "",
+    version: idoso?.version ?? null,
   }
 }
 